@@ -0,0 +1,194 @@
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Registra séries temporais da simulação em intervalos fixos.
+ * Cada amostra guarda população de Azuis e Zumbis, conversões acumuladas, taxa de conversão,
+ * coluna média dos Azuis e um histograma da posição (coluna) da fronteira de contato.
+ *
+ * As amostras ficam em um buffer circular de vetores primitivos pré-alocados: quando enche,
+ * a amostra mais antiga é sobrescrita. A amostragem usa apenas os contadores agregados e os
+ * mapas de ocupação do Tabuleiro, sem tomar o monitor de 'elementos' e sem alocar memória.
+ */
+public class AmostradorEstatisticas {
+    private static final int MAGICO_BINARIO = 0x54434553; // "TCES"
+    private static final int VERSAO_BINARIO = 1;
+
+    private final Tabuleiro tabuleiro;
+    private final int capacidade;
+    private final int numBins;
+
+    // Colunas do buffer circular
+    private final long[] tempoMillis;
+    private final int[] azuis;
+    private final int[] zumbis;
+    private final long[] conversoes;
+    private final float[] taxaConversao; // Conversões por segundo simulado desde a amostra anterior
+    private final float[] colunaMediaAzul;
+    private final int[] histograma; // capacidade * numBins, linha por amostra
+    private final int[] binsTemporarios;
+
+    private int proxima = 0;      // Índice onde a próxima amostra será escrita
+    private long totalAmostras = 0;
+    private long ultimoTempo = -1;
+    private long ultimasConversoes = 0;
+
+    private volatile boolean executando = false;
+    private Thread thread;
+
+    public AmostradorEstatisticas(Tabuleiro tabuleiro, int capacidade, int numBins) {
+        if (capacidade <= 0 || numBins <= 0) {
+            throw new IllegalArgumentException("Capacidade e número de bins devem ser positivos.");
+        }
+        this.tabuleiro = tabuleiro;
+        this.capacidade = capacidade;
+        this.numBins = numBins;
+        this.tempoMillis = new long[capacidade];
+        this.azuis = new int[capacidade];
+        this.zumbis = new int[capacidade];
+        this.conversoes = new long[capacidade];
+        this.taxaConversao = new float[capacidade];
+        this.colunaMediaAzul = new float[capacidade];
+        this.histograma = new int[capacidade * numBins];
+        this.binsTemporarios = new int[numBins];
+    }
+
+    // Registra uma amostra. Deve ser chamado por uma única thread por vez
+    // (a thread do amostrador ou, sem ela, o laço de ticks de quem dirige a simulação).
+    public void amostrar() {
+        long agora = tabuleiro.getRelogio().getMillisPassados();
+        int numAzuis = tabuleiro.getPopulacaoAzul();
+        long conv = tabuleiro.getTotalConversoes();
+        long somaColunas = tabuleiro.getSomaColunasAzul();
+
+        int i = proxima;
+        tempoMillis[i] = agora;
+        azuis[i] = numAzuis;
+        zumbis[i] = tabuleiro.getPopulacaoZumbi();
+        conversoes[i] = conv;
+        if (ultimoTempo >= 0 && agora > ultimoTempo) {
+            taxaConversao[i] = (conv - ultimasConversoes) * 1000f / (agora - ultimoTempo);
+        } else {
+            taxaConversao[i] = 0f;
+        }
+        colunaMediaAzul[i] = numAzuis > 0 ? (float) somaColunas / numAzuis : Float.NaN;
+
+        tabuleiro.preencherHistogramaFronteira(binsTemporarios);
+        System.arraycopy(binsTemporarios, 0, histograma, i * numBins, numBins);
+
+        ultimoTempo = agora;
+        ultimasConversoes = conv;
+        proxima = (i + 1 == capacidade) ? 0 : i + 1;
+        totalAmostras++;
+    }
+
+    // Inicia uma thread daemon que amostra a cada 'periodoNanos' nanossegundos de tempo real.
+    public synchronized void iniciar(long periodoNanos) {
+        if (executando) return;
+        executando = true;
+        thread = new Thread(() -> {
+            long proximoPrazo = System.nanoTime();
+            while (executando && !tabuleiro.isJogoAcabou()) {
+                amostrar();
+                proximoPrazo += periodoNanos;
+                long atraso = System.nanoTime() - proximoPrazo;
+                if (atraso >= 0) {
+                    // Prazos já vencidos (pausa de GC, CPU ocupada): pula os intervalos perdidos em vez
+                    // de emitir em rajada amostras atrasadas do mesmo estado
+                    proximoPrazo += (atraso / periodoNanos + 1) * periodoNanos;
+                }
+                long espera;
+                while (executando && (espera = proximoPrazo - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(espera);
+                }
+            }
+            amostrar(); // Amostra final com o estado de encerramento
+        }, "AmostradorEstatisticas");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // Para a thread de amostragem e espera ela terminar.
+    public synchronized void parar() throws InterruptedException {
+        if (!executando) return;
+        executando = false;
+        LockSupport.unpark(thread);
+        thread.join();
+    }
+
+    // Quantidade de amostras disponíveis no buffer (no máximo a capacidade).
+    public int getQuantidadeAmostras() {
+        return (int) Math.min(totalAmostras, capacidade);
+    }
+
+    public long getTotalAmostras() {
+        return totalAmostras;
+    }
+
+    // Índice no buffer da k-ésima amostra disponível, da mais antiga para a mais recente.
+    private int indice(int k) {
+        int inicio = totalAmostras > capacidade ? proxima : 0;
+        return (inicio + k) % capacidade;
+    }
+
+    // Exporta as amostras em CSV. Deve ser chamado com a amostragem parada.
+    public void exportarCsv(Path arquivo) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8)) {
+            out.write("tempo_ms,azuis,zumbis,conversoes,taxa_conversao_por_s,coluna_media_azul");
+            for (int b = 0; b < numBins; b++) {
+                out.write(",fronteira_bin_" + b);
+            }
+            out.newLine();
+
+            int n = getQuantidadeAmostras();
+            for (int k = 0; k < n; k++) {
+                int i = indice(k);
+                StringBuilder sb = new StringBuilder();
+                sb.append(tempoMillis[i]).append(',')
+                  .append(azuis[i]).append(',')
+                  .append(zumbis[i]).append(',')
+                  .append(conversoes[i]).append(',')
+                  .append(taxaConversao[i]).append(',')
+                  .append(Float.isNaN(colunaMediaAzul[i]) ? "" : Float.toString(colunaMediaAzul[i]));
+                for (int b = 0; b < numBins; b++) {
+                    sb.append(',').append(histograma[i * numBins + b]);
+                }
+                out.write(sb.toString());
+                out.newLine();
+            }
+        }
+    }
+
+    // Exporta as amostras em formato binário colunar (big-endian):
+    // int mágico "TCES", int versão, int n, int numBins, e em seguida cada coluna inteira em sequência:
+    // long[n] tempo_ms, int[n] azuis, int[n] zumbis, long[n] conversoes, float[n] taxa,
+    // float[n] coluna_media_azul, int[n * numBins] histograma (linha por amostra).
+    // Deve ser chamado com a amostragem parada.
+    public void exportarBinario(Path arquivo) throws IOException {
+        int n = getQuantidadeAmostras();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(arquivo), 1 << 16))) {
+            out.writeInt(MAGICO_BINARIO);
+            out.writeInt(VERSAO_BINARIO);
+            out.writeInt(n);
+            out.writeInt(numBins);
+            for (int k = 0; k < n; k++) out.writeLong(tempoMillis[indice(k)]);
+            for (int k = 0; k < n; k++) out.writeInt(azuis[indice(k)]);
+            for (int k = 0; k < n; k++) out.writeInt(zumbis[indice(k)]);
+            for (int k = 0; k < n; k++) out.writeLong(conversoes[indice(k)]);
+            for (int k = 0; k < n; k++) out.writeFloat(taxaConversao[indice(k)]);
+            for (int k = 0; k < n; k++) out.writeFloat(colunaMediaAzul[indice(k)]);
+            for (int k = 0; k < n; k++) {
+                int base = indice(k) * numBins;
+                for (int b = 0; b < numBins; b++) {
+                    out.writeInt(histograma[base + b]);
+                }
+            }
+        }
+    }
+}
@@ -17,14 +17,27 @@ public class Azul extends Elemento {
 
     @Override
     public void run() {
+        int passosBloqueados = 0; // Passos seguidos sem conseguir mover
         while (!tabuleiro.isJogoAcabou() && !Thread.currentThread().isInterrupted()) {
             Lock currentLock = null;
+            long inicioPasso = 0;
             try {
-                // Tempo aleatório entre movimentos
-                Thread.sleep(random.nextInt(901) + 100);
+                // Tempo aleatório entre movimentos (em tempo simulado)
+                long intervalo = random.nextInt(901) + 100;
+
+                // Bloqueado há vários passos: dorme até uma célula vizinha mudar. A espera conta como
+                // parte do intervalo, então ao acordar só dorme o que faltar dele (ou nada).
+                if (passosBloqueados >= Tabuleiro.PASSOS_BLOQUEADOS_PARA_AGUARDAR) {
+                    intervalo -= tabuleiro.aguardarVagaVizinha(this);
+                    if (tabuleiro.isJogoAcabou() || Thread.currentThread().isInterrupted()) break;
+                }
+                if (intervalo > 0) {
+                    tabuleiro.getRelogio().dormir(intervalo);
+                }
 
                 if (tabuleiro.isJogoAcabou() || Thread.currentThread().isInterrupted()) break;
 
+                inicioPasso = System.nanoTime(); // Passo = travar célula, mover e verificar vizinhos
                 int currentX = this.x;
                 int currentY = this.y;
 
@@ -40,6 +53,7 @@ public class Azul extends Elemento {
 
                 // --- Tentar Mover com Bias --- 
                 boolean moved = tentarMoverComBias(currentX, currentY);
+                passosBloqueados = moved ? 0 : passosBloqueados + 1;
                 
                 // --- Verificar Vizinhos Pós-Movimento (ou se não moveu) ---
                 int checkX = this.x;
@@ -58,6 +72,9 @@ public class Azul extends Elemento {
                 if (currentLock != null && ((ReentrantLock)currentLock).isHeldByCurrentThread()) {
                     currentLock.unlock();
                 }
+                if (inicioPasso != 0) {
+                    tabuleiro.registrarPasso(System.nanoTime() - inicioPasso);
+                }
             }
         }
         System.out.println("Thread Azul ID " + getId() + " terminando.");
@@ -81,7 +98,7 @@ public class Azul extends Elemento {
             int novoX = currentX + dx;
             int novoY = currentY + dy;
             if (tabuleiro.tentarMoverElemento(currentX, currentY, novoX, novoY, this)) {
-                if (this.y == tabuleiro.getLargura() - 1) {
+                if (tabuleiro.isBordaDireita(this.y)) {
                     tabuleiro.terminarJogo("Azul ID " + getId() + " venceu! Chegou à borda direita.");
                 }
                 return true; // Moveu na direção preferida
@@ -106,7 +123,7 @@ public class Azul extends Elemento {
             int novoX = currentX + dx;
             int novoY = currentY + dy;
             if (tabuleiro.tentarMoverElemento(currentX, currentY, novoX, novoY, this)) {
-                 if (this.y == tabuleiro.getLargura() - 1) {
+                 if (tabuleiro.isBordaDireita(this.y)) {
                     tabuleiro.terminarJogo("Azul ID " + getId() + " venceu! Chegou à borda direita.");
                 }
                 return true; // Moveu em outra direção
@@ -118,20 +135,10 @@ public class Azul extends Elemento {
     
     // Verifica vizinhos em busca de Zumbis para requisitar auto-conversão
     private void verificarVizinhosParaAutoConversao(int currentX, int currentY) {
-        int[] dx = {-1, -1, -1, 0, 0, 1, 1, 1};
-        int[] dy = {-1, 0, 1, -1, 1, -1, 0, 1};
-
-        for (int i = 0; i < 8; i++) {
-            int nx = currentX + dx[i];
-            int ny = currentY + dy[i];
-
-            if (tabuleiro.isDentroDosLimites(nx, ny)) {
-                if (tabuleiro.getPosicao(nx, ny) == 2) {
-                    System.out.println("Azul ID " + getId() + " detectou Zumbi em (" + nx + "," + ny + ") e requisitará auto-conversão.");
-                    tabuleiro.requisitarAutoConversao(this);
-                    return; 
-                }
-            }
-        }
+        // Mapa de bits local e, na borda de um shard, um único pedido ao shard vizinho
+        if (!tabuleiro.temVizinhoDoTipo(currentX, currentY, 2)) return;
+
+        System.out.println("Azul ID " + getId() + " detectou Zumbi vizinho a (" + currentX + "," + currentY + ") e requisitará auto-conversão.");
+        tabuleiro.requisitarAutoConversao(this);
     }
 }
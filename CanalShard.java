@@ -0,0 +1,111 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+
+/**
+ * Conexão TCP local (loopback) entre processos da simulação distribuída.
+ * Cada chamada envia um pedido e espera a resposta; as chamadas são serializadas
+ * por conexão (synchronized), então várias threads de agentes podem compartilhar o canal.
+ * As coordenadas enviadas já estão no sistema local do shard que recebe o pedido.
+ */
+public class CanalShard implements Closeable {
+    // Códigos de operação do protocolo
+    static final byte OP_TEM_TIPO = 1;   // (tipo, x, y) -> boolean, células (x-1..x+1, y)
+    static final byte OP_TRANSFERIR = 2; // (tipo, x, y) -> boolean aceito
+    static final byte OP_CONVERTER = 3;  // (x, y) -> boolean convertido, células (x-1..x+1, y)
+    static final byte OP_CONTAR = 4;     // () -> int azuis, int zumbis, long conversoes,
+                                         //       long azuisEnviados, long azuisRecebidos
+    static final byte OP_FIM = 5;        // (String mensagem) -> ack
+    static final byte OP_INICIAR = 6;    // () -> ack
+    static final byte OP_ENCERRAR = 7;   // () -> ack
+
+    // Início da mensagem de fim de um shard que abortou (estado global não é mais confiável)
+    static final String PREFIXO_ABORTO = "ABORTADO: ";
+
+    private final Socket socket;
+    private final DataInputStream entrada;
+    private final DataOutputStream saida;
+
+    public CanalShard(Socket socket) throws IOException {
+        this.socket = socket;
+        socket.setTcpNoDelay(true); // Pedidos pequenos e síncronos: sem atraso de Nagle
+        this.entrada = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        this.saida = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+    }
+
+    public static CanalShard conectar(int porta) throws IOException {
+        return new CanalShard(new Socket(InetAddress.getLoopbackAddress(), porta));
+    }
+
+    // Fluxos crus, usados no aperto de mão inicial e pelo lado que atende os pedidos
+    DataInputStream entrada() {
+        return entrada;
+    }
+
+    DataOutputStream saida() {
+        return saida;
+    }
+
+    public synchronized boolean temTipo(int tipo, int x, int y) throws IOException {
+        saida.writeByte(OP_TEM_TIPO);
+        saida.writeInt(tipo);
+        saida.writeInt(x);
+        saida.writeInt(y);
+        saida.flush();
+        return entrada.readBoolean();
+    }
+
+    public synchronized boolean transferir(int tipo, int x, int y) throws IOException {
+        saida.writeByte(OP_TRANSFERIR);
+        saida.writeInt(tipo);
+        saida.writeInt(x);
+        saida.writeInt(y);
+        saida.flush();
+        return entrada.readBoolean();
+    }
+
+    public synchronized boolean converter(int x, int y) throws IOException {
+        saida.writeByte(OP_CONVERTER);
+        saida.writeInt(x);
+        saida.writeInt(y);
+        saida.flush();
+        return entrada.readBoolean();
+    }
+
+    // Retorna {azuis, zumbis, conversoes, azuisEnviados, azuisRecebidos}
+    public synchronized long[] contar() throws IOException {
+        saida.writeByte(OP_CONTAR);
+        saida.flush();
+        return new long[] { entrada.readInt(), entrada.readInt(), entrada.readLong(),
+                            entrada.readLong(), entrada.readLong() };
+    }
+
+    public synchronized void fim(String mensagem) throws IOException {
+        saida.writeByte(OP_FIM);
+        saida.writeUTF(mensagem);
+        saida.flush();
+        entrada.readByte();
+    }
+
+    public synchronized void iniciar() throws IOException {
+        saida.writeByte(OP_INICIAR);
+        saida.flush();
+        entrada.readByte();
+    }
+
+    public synchronized void encerrar() throws IOException {
+        saida.writeByte(OP_ENCERRAR);
+        saida.flush();
+        entrada.readByte();
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+}
@@ -0,0 +1,215 @@
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.awt.image.IndexColorModel;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageOutputStream;
+
+/**
+ * Converte um arquivo gerado pelo ExportadorQuadros em uma sequência de PNGs ou em um GIF animado.
+ *
+ * Uso: java ConversorQuadros entrada.tcq saida [escala]
+ *   saida terminada em .gif gera um GIF animado; caso contrário é tratada como diretório
+ *   e recebe quadro_00000.png, quadro_00001.png, ...
+ *   escala = pixels por célula (padrão 1).
+ */
+public class ConversorQuadros {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Uso: java ConversorQuadros entrada.tcq saida(.gif|diretorio) [escala]");
+            System.exit(1);
+        }
+        System.setProperty("java.awt.headless", "true");
+        Path entrada = Paths.get(args[0]);
+        Path saida = Paths.get(args[1]);
+        int escala = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+
+        int quadros = converter(entrada, saida, escala);
+        System.out.println(quadros + " quadros convertidos para " + saida);
+    }
+
+    public static int converter(Path entrada, Path saida, int escala) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(entrada), 1 << 16))) {
+            if (in.readInt() != ExportadorQuadros.MAGICO) {
+                throw new IOException("Arquivo não é um fluxo de quadros: " + entrada);
+            }
+            int versao = in.readInt();
+            if (versao != ExportadorQuadros.VERSAO) {
+                throw new IOException("Versão de fluxo não suportada: " + versao);
+            }
+            int altura = in.readInt();
+            int largura = in.readInt();
+            float fps = in.readFloat();
+            int numCores = in.readUnsignedByte();
+            byte[] r = new byte[numCores];
+            byte[] g = new byte[numCores];
+            byte[] b = new byte[numCores];
+            for (int i = 0; i < numCores; i++) {
+                r[i] = in.readByte();
+                g[i] = in.readByte();
+                b[i] = in.readByte();
+            }
+            IndexColorModel paleta = new IndexColorModel(8, numCores, r, g, b);
+
+            boolean gif = saida.getFileName().toString().toLowerCase().endsWith(".gif");
+            if (!gif) {
+                Files.createDirectories(saida);
+            }
+            GravadorGif gravadorGif = gif ? new GravadorGif(saida, Math.round(100 / fps)) : null;
+
+            byte[] quadro = new byte[altura * largura];
+            BufferedImage imagem = new BufferedImage(largura * escala, altura * escala, BufferedImage.TYPE_BYTE_INDEXED, paleta);
+            byte[] pixels = ((DataBufferByte) imagem.getRaster().getDataBuffer()).getData();
+            int total = 0;
+            try {
+                while (lerQuadro(in, quadro)) {
+                    desenhar(quadro, altura, largura, escala, pixels);
+                    if (gif) {
+                        gravadorGif.adicionar(imagem);
+                    } else {
+                        ImageIO.write(imagem, "png", saida.resolve(String.format("quadro_%05d.png", total)).toFile());
+                    }
+                    total++;
+                }
+            } finally {
+                if (gravadorGif != null) {
+                    gravadorGif.fechar();
+                }
+            }
+            return total;
+        }
+    }
+
+    // Lê o próximo quadro e aplica sobre 'quadro' (substitui se for chave, XOR se for delta).
+    // Retorna false no fim do arquivo.
+    private static boolean lerQuadro(DataInputStream in, byte[] quadro) throws IOException {
+        try {
+            in.readInt(); // Tamanho do conteúdo, usado apenas por quem quer pular quadros
+        } catch (EOFException e) {
+            return false;
+        }
+        in.readLong(); // Tempo simulado
+        byte tipo = in.readByte();
+        int i = 0;
+        while (i < quadro.length) {
+            int comprimento = lerVarint(in);
+            byte valor = in.readByte();
+            if (i + comprimento > quadro.length) {
+                throw new IOException("Sequência RLE ultrapassa o tamanho do quadro.");
+            }
+            if (tipo == ExportadorQuadros.QUADRO_CHAVE) {
+                Arrays.fill(quadro, i, i + comprimento, valor);
+            } else if (valor != 0) {
+                for (int k = i; k < i + comprimento; k++) {
+                    quadro[k] ^= valor;
+                }
+            }
+            i += comprimento;
+        }
+        return true;
+    }
+
+    private static int lerVarint(DataInputStream in) throws IOException {
+        int valor = 0;
+        int deslocamento = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            valor |= (b & 0x7F) << deslocamento;
+            deslocamento += 7;
+        } while ((b & 0x80) != 0);
+        return valor;
+    }
+
+    private static void desenhar(byte[] quadro, int altura, int largura, int escala, byte[] pixels) {
+        int larguraImagem = largura * escala;
+        for (int i = 0; i < altura; i++) {
+            int inicioLinha = i * escala * larguraImagem;
+            for (int j = 0; j < largura; j++) {
+                byte cor = quadro[i * largura + j];
+                for (int dj = 0; dj < escala; dj++) {
+                    pixels[inicioLinha + j * escala + dj] = cor;
+                }
+            }
+            // Repete a linha já desenhada para as demais linhas de pixels da célula
+            for (int di = 1; di < escala; di++) {
+                System.arraycopy(pixels, inicioLinha, pixels, inicioLinha + di * larguraImagem, larguraImagem);
+            }
+        }
+    }
+
+    // GIF animado em laço infinito pelo ImageWriter padrão do JDK
+    private static class GravadorGif {
+        private final ImageWriter writer;
+        private final ImageOutputStream out;
+        private final int atrasoCentesimos;
+        private boolean primeiro = true;
+
+        GravadorGif(Path arquivo, int atrasoCentesimos) throws IOException {
+            this.writer = ImageIO.getImageWritersByFormatName("gif").next();
+            Files.deleteIfExists(arquivo);
+            this.out = ImageIO.createImageOutputStream(arquivo.toFile());
+            this.atrasoCentesimos = Math.max(1, atrasoCentesimos);
+            writer.setOutput(out);
+            writer.prepareWriteSequence(null);
+        }
+
+        void adicionar(BufferedImage imagem) throws IOException {
+            ImageTypeSpecifier tipo = ImageTypeSpecifier.createFromRenderedImage(imagem);
+            IIOMetadata metadados = writer.getDefaultImageMetadata(tipo, null);
+            String formato = metadados.getNativeMetadataFormatName();
+            IIOMetadataNode raiz = (IIOMetadataNode) metadados.getAsTree(formato);
+
+            IIOMetadataNode controle = filho(raiz, "GraphicControlExtension");
+            controle.setAttribute("disposalMethod", "none");
+            controle.setAttribute("userInputFlag", "FALSE");
+            controle.setAttribute("transparentColorFlag", "FALSE");
+            controle.setAttribute("delayTime", Integer.toString(atrasoCentesimos));
+            controle.setAttribute("transparentColorIndex", "0");
+
+            // A extensão de laço NETSCAPE vale para o arquivo inteiro e vai só no primeiro quadro
+            if (primeiro) {
+                IIOMetadataNode extensoes = filho(raiz, "ApplicationExtensions");
+                IIOMetadataNode laco = new IIOMetadataNode("ApplicationExtension");
+                laco.setAttribute("applicationID", "NETSCAPE");
+                laco.setAttribute("authenticationCode", "2.0");
+                laco.setUserObject(new byte[] {1, 0, 0}); // Repetir indefinidamente
+                extensoes.appendChild(laco);
+                primeiro = false;
+            }
+
+            metadados.setFromTree(formato, raiz);
+            writer.writeToSequence(new IIOImage(imagem, null, metadados), null);
+        }
+
+        void fechar() throws IOException {
+            writer.endWriteSequence();
+            out.close();
+            writer.dispose();
+        }
+
+        private static IIOMetadataNode filho(IIOMetadataNode raiz, String nome) {
+            for (int i = 0; i < raiz.getLength(); i++) {
+                if (raiz.item(i).getNodeName().equalsIgnoreCase(nome)) {
+                    return (IIOMetadataNode) raiz.item(i);
+                }
+            }
+            IIOMetadataNode novo = new IIOMetadataNode(nome);
+            raiz.appendChild(novo);
+            return novo;
+        }
+    }
+}
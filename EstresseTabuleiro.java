@@ -0,0 +1,292 @@
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
+
+/**
+ * Bateria de estresse do protocolo de locks de Tabuleiro, Azul e Zumbi (sem GUI).
+ * Executa cenários de alta densidade e muitos agentes com relógio acelerado e, durante a
+ * execução, congela periodicamente o tabuleiro (adquirindo todos os locks de célula) para
+ * verificar os invariantes:
+ *  - conservação da população (Azuis + Zumbis constante);
+ *  - nenhuma célula ocupada por dois elementos nem célula ocupada sem elemento (órfã);
+ *  - x/y de todo elemento vivo batem com o tipo na grid;
+ *  - contadores agregados e mapas de ocupação (bit a bit) coerentes com a grid;
+ *  - nenhuma exceção não tratada nas threads dos agentes.
+ * No fim de cada cenário verifica ainda que a grid não muda depois do fim de jogo e que todas
+ * as threads terminam. Também mede vazão (passos/s) e latência p99 dos passos conforme o
+ * número de threads cresce.
+ *
+ * Cenários "misto" exercitam conversões e o fim de jogo: Azuis à esquerda e Zumbis à direita,
+ * separados por uma faixa vazia que os dois lados levam algum tempo para atravessar. Eles
+ * precisam terminar pela própria simulação (vitória de Azul ou todos Zumbis) dentro do limite.
+ * Cenários "zumbis" só têm movimento e disputa de locks, e rodam a duração inteira.
+ *
+ * Uso: java EstresseTabuleiro [duracaoPorCenarioMs] [maxThreads]
+ * Retorna código de saída 1 se algum invariante for violado.
+ */
+public class EstresseTabuleiro {
+    private static final double FATOR_RELOGIO = 50.0;
+    private static final long INTERVALO_VERIFICACAO_MS = 100;
+    private static final long ESPERA_LOCK_MS = 2;
+    // Cenário misto que passar de LIMITE_MISTO vezes a duração sem terminar é falha
+    private static final int LIMITE_MISTO = 10;
+    // Colunas vazias entre Azuis e Zumbis por segundo de duração do cenário. As duas frentes
+    // se aproximam em torno de 60 colunas por segundo real com o relógio a 50x, então o contato
+    // acontece perto do fim da duração e as conversões ocupam o restante.
+    private static final int FAIXA_VAZIA_POR_SEGUNDO = 40;
+
+    private static class Resultado {
+        int verificacoes;
+        final List<String> falhas = new ArrayList<>();
+    }
+
+    private static PrintStream relatorio;
+    // Exceções não tratadas nas threads dos agentes durante o cenário atual
+    private static final Queue<String> excecoes = new ConcurrentLinkedQueue<>();
+
+    public static void main(String[] args) throws InterruptedException {
+        long duracaoMs = args.length > 0 ? Long.parseLong(args[0]) : 3000;
+        int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : 4096;
+
+        // Os agentes imprimem cada movimento relevante (inclusive em stderr); o relatório usa a
+        // saída original, e as exceções não tratadas são capturadas como falhas
+        relatorio = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        System.setErr(new PrintStream(OutputStream.nullOutputStream()));
+        Thread.setDefaultUncaughtExceptionHandler((t, e) -> excecoes.add(t.getName() + ": " + e));
+
+        relatorio.println("--- Estresse do Tabuleiro (relógio " + FATOR_RELOGIO + "x, " + duracaoMs + " ms por cenário) ---");
+        relatorio.printf("%-7s %-8s %-9s %-9s %-8s %8s %12s %10s %8s  %s%n",
+                "cenário", "threads", "tabuleiro", "densidade", "verif.", "ms", "passos/s", "p99 (us)", "status", "fim");
+
+        double[] densidades = {0.5, 0.9};
+        boolean sucesso = true;
+        for (boolean misto : new boolean[] {true, false}) {
+            for (double densidade : densidades) {
+                for (int n = 256; n <= maxThreads; n *= 4) {
+                    sucesso &= executarCenario(n, densidade, misto, duracaoMs);
+                }
+            }
+        }
+
+        relatorio.println(sucesso ? "Todos os invariantes foram mantidos." : "FALHA: invariantes violados.");
+        System.exit(sucesso ? 0 : 1);
+    }
+
+    private static boolean executarCenario(int numAgentes, double densidade, boolean misto, long duracaoMs) throws InterruptedException {
+        excecoes.clear();
+        int altura = (int) Math.ceil(Math.sqrt(numAgentes / densidade));
+        // Misto: cada metade tem a densidade pedida e fica separada da outra por 'faixaVazia' colunas
+        int larguraMetade = (int) Math.ceil(numAgentes / 2.0 / (altura * densidade));
+        int faixaVazia = misto ? (int) (duracaoMs * FAIXA_VAZIA_POR_SEGUNDO / 1000) : 0;
+        int largura = misto ? 2 * larguraMetade + faixaVazia : altura;
+        Tabuleiro tabuleiro = new Tabuleiro(altura, largura, new RelogioEscalado(FATOR_RELOGIO));
+        MedidorPassos medidor = new MedidorPassos();
+        tabuleiro.setMedidorPassos(medidor);
+
+        Random random = new Random(numAgentes * 31L + (long) (densidade * 100));
+        List<Elemento> iniciais = new ArrayList<>();
+        for (int i = 0; i < numAgentes; i++) {
+            boolean azul = misto && i % 2 == 0;
+            int x, y;
+            do {
+                x = random.nextInt(altura);
+                if (!misto) {
+                    y = random.nextInt(largura);
+                } else {
+                    y = azul ? random.nextInt(larguraMetade) : largura - 1 - random.nextInt(larguraMetade);
+                }
+            } while (tabuleiro.getPosicao(x, y) != 0);
+            Elemento e = azul ? new Azul(x, y, tabuleiro) : new Zumbi(x, y, tabuleiro);
+            tabuleiro.adicionarElementoInicial(e);
+            iniciais.add(e);
+        }
+
+        // Inicia as threads com o tabuleiro travado: nenhum agente dá o primeiro passo antes de
+        // todos estarem vivos (Zumbi e verificarFimTodosZumbis só enxergam elementos com isAlive()).
+        Resultado resultado = new Resultado();
+        long inicio = System.nanoTime();
+        congelado(tabuleiro, () -> {
+            for (Elemento e : iniciais) {
+                e.start();
+            }
+            return null;
+        });
+
+        long limiteMs = misto ? LIMITE_MISTO * duracaoMs : duracaoMs;
+        long prazo = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(limiteMs);
+        while (!tabuleiro.isJogoAcabou() && System.nanoTime() < prazo) {
+            Thread.sleep(INTERVALO_VERIFICACAO_MS);
+            verificarInvariantes(tabuleiro, numAgentes, resultado);
+        }
+        long fim = System.nanoTime();
+        if (misto && !tabuleiro.isJogoAcabou()) {
+            falha(resultado, "Cenário misto não terminou pela simulação em " + limiteMs + " ms");
+        }
+        tabuleiro.terminarJogo("Tempo esgotado");
+
+        // Retrato da grid logo após o fim, com o tabuleiro congelado para que passos já em
+        // andamento terminem antes; a partir daqui nenhum agente pode mover nem converter
+        int[][] gridNoFim = congelado(tabuleiro, tabuleiro::getGridCopy);
+
+        // Todas as threads de agentes devem terminar depois do fim de jogo
+        List<Elemento> todos;
+        synchronized (tabuleiro.elementos) {
+            todos = new ArrayList<>(tabuleiro.elementos);
+        }
+        todos.addAll(iniciais);
+        for (Elemento e : todos) {
+            e.join(5000);
+            if (e.isAlive()) {
+                falha(resultado, "Thread " + e.getId() + " ainda viva após o fim de jogo");
+                break;
+            }
+        }
+        verificarInvariantes(tabuleiro, numAgentes, resultado);
+        if (!Arrays.deepEquals(gridNoFim, tabuleiro.getGridCopy())) {
+            falha(resultado, "Grid mudou depois do fim de jogo");
+        }
+        for (String excecao : excecoes) {
+            falha(resultado, "Exceção não tratada em " + excecao);
+        }
+
+        double segundos = (fim - inicio) / 1e9;
+        relatorio.printf("%-7s %-8d %-9s %-9.2f %-8d %8d %12.0f %10.1f %8s  %s%n",
+                misto ? "misto" : "zumbis", numAgentes, altura + "x" + largura, densidade, resultado.verificacoes,
+                (fim - inicio) / 1_000_000, medidor.getTotal() / segundos, medidor.percentil(99) / 1000.0,
+                resultado.falhas.isEmpty() ? "OK" : "FALHA", tabuleiro.getMensagemFim());
+        for (String falha : resultado.falhas) {
+            relatorio.println("    " + falha);
+        }
+        return resultado.falhas.isEmpty();
+    }
+
+    private static void verificarInvariantes(Tabuleiro tabuleiro, int populacaoInicial, Resultado resultado) throws InterruptedException {
+        congelado(tabuleiro, () -> {
+            conferir(tabuleiro, populacaoInicial, resultado);
+            return null;
+        });
+        resultado.verificacoes++;
+    }
+
+    // Congela o tabuleiro adquirindo todos os locks de célula e executa 'acao'.
+    // Usa tryLock com espera curta: se algum lock não vier (ex.: Zumbi segurando sua célula
+    // enquanto espera a do Azul que já travamos), solta tudo e tenta de novo.
+    private static <T> T congelado(Tabuleiro tabuleiro, Supplier<T> acao) throws InterruptedException {
+        int altura = tabuleiro.getAltura();
+        int largura = tabuleiro.getLargura();
+        Lock[] adquiridos = new Lock[altura * largura];
+        while (true) {
+            int n = 0;
+            boolean completo = true;
+            for (int i = 0; i < altura && completo; i++) {
+                for (int j = 0; j < largura; j++) {
+                    Lock lock = tabuleiro.getLock(i, j);
+                    if (!lock.tryLock(ESPERA_LOCK_MS, TimeUnit.MILLISECONDS)) {
+                        completo = false;
+                        break;
+                    }
+                    adquiridos[n++] = lock;
+                }
+            }
+            try {
+                if (completo) {
+                    return acao.get();
+                }
+            } finally {
+                for (int k = n - 1; k >= 0; k--) {
+                    adquiridos[k].unlock();
+                }
+            }
+            Thread.sleep(1);
+        }
+    }
+
+    // Assume todos os locks de célula adquiridos: nenhum movimento ou conversão está em andamento.
+    private static void conferir(Tabuleiro tabuleiro, int populacaoInicial, Resultado resultado) {
+        int altura = tabuleiro.getAltura();
+        int largura = tabuleiro.getLargura();
+        int[][] grid = tabuleiro.getGridCopy();
+        Elemento[][] dono = new Elemento[altura][largura];
+        int azuis = 0, zumbis = 0;
+        long somaColunas = 0;
+
+        synchronized (tabuleiro.elementos) {
+            for (Elemento e : tabuleiro.elementos) {
+                int x = e.getXPos();
+                int y = e.getYPos();
+                if (!tabuleiro.isDentroDosLimites(x, y)) {
+                    falha(resultado, "Elemento " + e.getId() + " fora do tabuleiro em (" + x + "," + y + ")");
+                    continue;
+                }
+                if (dono[x][y] != null) {
+                    falha(resultado, "Célula (" + x + "," + y + ") ocupada por " + dono[x][y].getId() + " e " + e.getId());
+                }
+                dono[x][y] = e;
+                if (grid[x][y] != e.getTipo()) {
+                    falha(resultado, "Elemento " + e.getId() + " tipo " + e.getTipo() + " em (" + x + "," + y + ") mas grid = " + grid[x][y]);
+                }
+                if (e.getTipo() == 1) {
+                    azuis++;
+                    somaColunas += y;
+                } else {
+                    zumbis++;
+                }
+            }
+        }
+
+        int fronteira = 0;
+        for (int i = 0; i < altura; i++) {
+            for (int j = 0; j < largura; j++) {
+                if (grid[i][j] != 0 && dono[i][j] == null) {
+                    falha(resultado, "Célula órfã (" + i + "," + j + ") com tipo " + grid[i][j]);
+                }
+                for (int tipo = 1; tipo <= 2; tipo++) {
+                    if (tabuleiro.isMarcadoNoMapa(tipo, i, j) != (grid[i][j] == tipo)) {
+                        falha(resultado, "Mapa de ocupação do tipo " + tipo + " diverge da grid em (" + i + "," + j + "), grid = " + grid[i][j]);
+                    }
+                }
+                if (grid[i][j] == 1 && temZumbiAdjacente(grid, i, j)) {
+                    fronteira++;
+                }
+            }
+        }
+
+        if (azuis + zumbis != populacaoInicial) {
+            falha(resultado, "População " + (azuis + zumbis) + " diferente da inicial " + populacaoInicial);
+        }
+        if (tabuleiro.getPopulacaoAzul() != azuis || tabuleiro.getPopulacaoZumbi() != zumbis
+                || tabuleiro.getSomaColunasAzul() != somaColunas) {
+            falha(resultado, "Contadores agregados divergem da lista de elementos");
+        }
+        if (tabuleiro.contarFronteira() != fronteira) {
+            falha(resultado, "Fronteira calculada pelos mapas diverge da grid (" + tabuleiro.contarFronteira() + " != " + fronteira + ")");
+        }
+    }
+
+    private static boolean temZumbiAdjacente(int[][] grid, int x, int y) {
+        for (int i = x - 1; i <= x + 1; i++) {
+            for (int j = y - 1; j <= y + 1; j++) {
+                if (i >= 0 && i < grid.length && j >= 0 && j < grid[i].length && grid[i][j] == 2) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // Limita a quantidade de mensagens para um mesmo cenário
+    private static void falha(Resultado resultado, String mensagem) {
+        if (resultado.falhas.size() < 10) {
+            resultado.falhas.add(mensagem);
+        }
+    }
+}
@@ -0,0 +1,256 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Exporta o tabuleiro como sequência de quadros, sem JavaFX, para execuções em lote.
+ * Uma thread de captura copia a grid na taxa de quadros pedida (sem locks, como a GUI) e
+ * comprime cada quadro com RLE: quadros-chave codificam os índices de paleta diretamente e
+ * os demais codificam o XOR com o quadro anterior, em que as áreas paradas viram longas
+ * sequências de zeros. Uma segunda thread grava os quadros prontos por um FileChannel.
+ *
+ * Os buffers de saída são pré-alocados e reciclados. Se o disco não acompanhar e não houver
+ * buffer livre, o quadro é descartado (e contado), nunca atrasando os agentes. Da mesma forma,
+ * se a própria captura atrasar, os prazos perdidos são pulados (e contados como descartados)
+ * em vez de codificados em sequência disputando CPU com os agentes.
+ *
+ * Formato do arquivo (big-endian):
+ *   cabeçalho: int mágico "TCQ1", int versão, int altura, int largura, float fps,
+ *              byte n cores, n * (byte r, byte g, byte b)
+ *   quadro:    int tamanho do conteúdo, long tempo simulado (ms), byte tipo (0 chave, 1 delta),
+ *              pares (varint comprimento, byte valor) cobrindo altura * largura células
+ * ConversorQuadros transforma o arquivo em PNGs ou GIF.
+ */
+public class ExportadorQuadros {
+    static final int MAGICO = 0x54435131; // "TCQ1"
+    static final int VERSAO = 1;
+    static final byte QUADRO_CHAVE = 0;
+    static final byte QUADRO_DELTA = 1;
+    static final int TAMANHO_CABECALHO_QUADRO = 4 + 8 + 1;
+    // Cores na mesma ordem dos tipos da grid e com as cores da SimulacaoGUI: vazio, Azul, Zumbi
+    static final int[] PALETA = {0xFFFFFF, 0x0000FF, 0xFF0000};
+
+    private static final int NUM_BUFFERS = 4;
+    private static final int INTERVALO_QUADRO_CHAVE = 64; // Um quadro-chave a cada 64 quadros
+
+    private final Tabuleiro tabuleiro;
+    private final Path arquivo;
+    private final double fps;
+    private final int numCelulas;
+
+    private byte[] atual;
+    private byte[] anterior;
+    private final BlockingQueue<ByteBuffer> livres = new ArrayBlockingQueue<>(NUM_BUFFERS);
+    private final BlockingQueue<ByteBuffer> prontos = new ArrayBlockingQueue<>(NUM_BUFFERS + 1);
+    private final ByteBuffer fimDeFila = ByteBuffer.allocate(0); // Sinaliza fim para o gravador
+
+    private FileChannel canal;
+    private Thread captura;
+    private Thread gravador;
+    private volatile boolean executando = false;
+    private volatile IOException erroGravacao;
+    private long quadrosEmitidos = 0;
+    private volatile long quadrosGravados = 0;
+    private volatile long quadrosDescartados = 0;
+
+    public ExportadorQuadros(Tabuleiro tabuleiro, Path arquivo, double fps) {
+        if (fps <= 0) {
+            throw new IllegalArgumentException("Taxa de quadros deve ser positiva: " + fps);
+        }
+        this.tabuleiro = tabuleiro;
+        this.arquivo = arquivo;
+        this.fps = fps;
+        this.numCelulas = tabuleiro.getAltura() * tabuleiro.getLargura();
+        this.atual = new byte[numCelulas];
+        this.anterior = new byte[numCelulas];
+        // Pior caso do RLE: uma sequência de 1 célula por byte (varint de 1 byte + valor)
+        int capacidade = TAMANHO_CABECALHO_QUADRO + 2 * numCelulas;
+        for (int i = 0; i < NUM_BUFFERS; i++) {
+            livres.add(ByteBuffer.allocateDirect(capacidade));
+        }
+    }
+
+    public long getQuadrosGravados() {
+        return quadrosGravados;
+    }
+
+    public long getQuadrosDescartados() {
+        return quadrosDescartados;
+    }
+
+    // Cria o arquivo, grava o cabeçalho e inicia as threads de captura e gravação.
+    public synchronized void iniciar() throws IOException {
+        if (executando) return;
+        canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        ByteBuffer cabecalho = ByteBuffer.allocate(21 + 3 * PALETA.length);
+        cabecalho.putInt(MAGICO).putInt(VERSAO)
+                 .putInt(tabuleiro.getAltura()).putInt(tabuleiro.getLargura())
+                 .putFloat((float) fps)
+                 .put((byte) PALETA.length);
+        for (int cor : PALETA) {
+            cabecalho.put((byte) (cor >>> 16)).put((byte) (cor >>> 8)).put((byte) cor);
+        }
+        cabecalho.flip();
+        escreverTudo(cabecalho);
+
+        executando = true;
+        gravador = new Thread(this::gravar, "ExportadorQuadros-gravador");
+        gravador.setDaemon(true);
+        gravador.start();
+        captura = new Thread(this::capturar, "ExportadorQuadros-captura");
+        captura.setDaemon(true);
+        captura.start();
+    }
+
+    // Para a captura (gravando um último quadro), espera o gravador esvaziar a fila e fecha o arquivo.
+    public synchronized void parar() throws IOException, InterruptedException {
+        if (!executando) return;
+        executando = false;
+        LockSupport.unpark(captura);
+        captura.join();
+        gravador.join();
+        canal.close();
+        if (erroGravacao != null) {
+            throw erroGravacao;
+        }
+    }
+
+    private void capturar() {
+        long periodoNanos = (long) (1_000_000_000L / fps);
+        long proximoPrazo = System.nanoTime();
+        try {
+            while (executando && !tabuleiro.isJogoAcabou() && erroGravacao == null) {
+                emitirQuadro();
+                proximoPrazo += periodoNanos;
+                long atraso = System.nanoTime() - proximoPrazo;
+                if (atraso >= 0) {
+                    long perdidos = atraso / periodoNanos + 1;
+                    proximoPrazo += perdidos * periodoNanos;
+                    quadrosDescartados += perdidos;
+                }
+                long espera;
+                while (executando && (espera = proximoPrazo - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(espera);
+                }
+            }
+            emitirQuadro(); // Estado final
+        } finally {
+            prontos.add(fimDeFila);
+        }
+    }
+
+    // Captura e codifica um quadro, se houver buffer livre; caso contrário descarta.
+    private void emitirQuadro() {
+        ByteBuffer saida = livres.poll();
+        if (saida == null) {
+            quadrosDescartados++;
+            return;
+        }
+        tabuleiro.copiarQuadro(atual);
+        boolean chave = quadrosEmitidos % INTERVALO_QUADRO_CHAVE == 0;
+
+        saida.clear();
+        saida.position(TAMANHO_CABECALHO_QUADRO);
+        if (chave) {
+            codificarChave(atual, saida);
+        } else {
+            codificarDelta(atual, anterior, saida);
+        }
+        int tamanho = saida.position() - TAMANHO_CABECALHO_QUADRO;
+        saida.putInt(0, tamanho);
+        saida.putLong(4, tabuleiro.getRelogio().getMillisPassados());
+        saida.put(12, chave ? QUADRO_CHAVE : QUADRO_DELTA);
+        saida.flip();
+        prontos.add(saida);
+
+        // O quadro atual passa a ser a referência do próximo delta
+        byte[] tmp = anterior;
+        anterior = atual;
+        atual = tmp;
+        quadrosEmitidos++;
+    }
+
+    private void gravar() {
+        try {
+            while (true) {
+                ByteBuffer buffer = prontos.take();
+                if (buffer == fimDeFila) break;
+                try {
+                    if (erroGravacao == null) {
+                        escreverTudo(buffer);
+                        quadrosGravados++;
+                    }
+                } catch (IOException e) {
+                    erroGravacao = e;
+                    System.err.println("Erro ao gravar quadros em " + arquivo + ": " + e.getMessage());
+                }
+                livres.add(buffer);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void escreverTudo(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+    }
+
+    // RLE dos índices de paleta
+    static void codificarChave(byte[] quadro, ByteBuffer saida) {
+        int n = quadro.length;
+        int i = 0;
+        while (i < n) {
+            byte valor = quadro[i];
+            int j = i + 1;
+            while (j < n && quadro[j] == valor) {
+                j++;
+            }
+            escreverVarint(saida, j - i);
+            saida.put(valor);
+            i = j;
+        }
+    }
+
+    // RLE do XOR entre quadros. Trechos iguais (XOR zero) são achados com Arrays.mismatch,
+    // que compara vários bytes por instrução.
+    static void codificarDelta(byte[] quadro, byte[] referencia, ByteBuffer saida) {
+        int n = quadro.length;
+        int i = 0;
+        while (i < n) {
+            int diferenca = Arrays.mismatch(quadro, i, n, referencia, i, n);
+            int fimIguais = diferenca < 0 ? n : i + diferenca;
+            if (fimIguais > i) {
+                escreverVarint(saida, fimIguais - i);
+                saida.put((byte) 0);
+                i = fimIguais;
+                continue;
+            }
+            byte valor = (byte) (quadro[i] ^ referencia[i]);
+            int j = i + 1;
+            while (j < n && (byte) (quadro[j] ^ referencia[j]) == valor) {
+                j++;
+            }
+            escreverVarint(saida, j - i);
+            saida.put(valor);
+            i = j;
+        }
+    }
+
+    // Inteiro sem sinal em 7 bits por byte, bit alto indica continuação
+    static void escreverVarint(ByteBuffer saida, int valor) {
+        while ((valor & ~0x7F) != 0) {
+            saida.put((byte) ((valor & 0x7F) | 0x80));
+            valor >>>= 7;
+        }
+        saida.put((byte) valor);
+    }
+}
@@ -0,0 +1,117 @@
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Mapa de bits de ocupação de um tipo de elemento no tabuleiro.
+ * Cada linha do tabuleiro é um vetor de palavras de 64 bits, onde o bit y indica
+ * se a coluna y está ocupada. As palavras são atômicas porque células vizinhas
+ * (protegidas por locks diferentes) compartilham a mesma palavra.
+ */
+public class MapaOcupacao {
+    private final int altura;
+    private final int largura;
+    private final int palavrasPorLinha;
+    private final AtomicLongArray[] linhas;
+
+    public MapaOcupacao(int altura, int largura) {
+        this.altura = altura;
+        this.largura = largura;
+        this.palavrasPorLinha = (largura + 63) >>> 6;
+        this.linhas = new AtomicLongArray[altura];
+        for (int i = 0; i < altura; i++) {
+            linhas[i] = new AtomicLongArray(palavrasPorLinha);
+        }
+    }
+
+    public int getPalavrasPorLinha() {
+        return palavrasPorLinha;
+    }
+
+    public void marcar(int x, int y) {
+        AtomicLongArray linha = linhas[x];
+        int w = y >>> 6;
+        long bit = 1L << (y & 63);
+        long atual;
+        do {
+            atual = linha.get(w);
+        } while (!linha.compareAndSet(w, atual, atual | bit));
+    }
+
+    public void limpar(int x, int y) {
+        AtomicLongArray linha = linhas[x];
+        int w = y >>> 6;
+        long bit = 1L << (y & 63);
+        long atual;
+        do {
+            atual = linha.get(w);
+        } while (!linha.compareAndSet(w, atual, atual & ~bit));
+    }
+
+    public boolean isMarcado(int x, int y) {
+        return (linhas[x].get(y >>> 6) & (1L << (y & 63))) != 0;
+    }
+
+    public long getPalavra(int x, int w) {
+        return linhas[x].get(w);
+    }
+
+    // Retorna true se alguma das 8 células vizinhas de (x, y) estiver marcada.
+    // A própria célula (x, y) é ignorada.
+    public boolean temVizinhoMarcado(int x, int y) {
+        return contarVizinhosMarcados(x, y) > 0;
+    }
+
+    // Conta quantas das 8 células vizinhas de (x, y) estão marcadas.
+    // Usa no máximo duas palavras por linha (quando o intervalo y-1..y+1 cruza o limite de 64 bits).
+    public int contarVizinhosMarcados(int x, int y) {
+        int yMin = Math.max(0, y - 1);
+        int yMax = Math.min(largura - 1, y + 1);
+        int total = 0;
+        for (int i = Math.max(0, x - 1); i <= Math.min(altura - 1, x + 1); i++) {
+            total += contarIntervalo(linhas[i], yMin, yMax);
+        }
+        if (isMarcado(x, y)) {
+            total--; // Desconta a própria célula
+        }
+        return total;
+    }
+
+    // Conta bits marcados no intervalo [yMin, yMax] de uma linha (intervalo de no máximo 3 colunas).
+    private int contarIntervalo(AtomicLongArray linha, int yMin, int yMax) {
+        int wMin = yMin >>> 6;
+        int wMax = yMax >>> 6;
+        if (wMin == wMax) {
+            long mascara = (-1L >>> (63 - (yMax - yMin))) << (yMin & 63);
+            return Long.bitCount(linha.get(wMin) & mascara);
+        }
+        long mascaraBaixa = -1L << (yMin & 63);          // De yMin até o fim da palavra wMin
+        long mascaraAlta = -1L >>> (63 - (yMax & 63));   // Do início da palavra wMax até yMax
+        return Long.bitCount(linha.get(wMin) & mascaraBaixa) + Long.bitCount(linha.get(wMax) & mascaraAlta);
+    }
+
+    // Dilata a palavra w da linha x em uma coluna para cada lado (vizinhança horizontal),
+    // propagando os bits de borda das palavras adjacentes.
+    long dilatarHorizontal(int x, int w) {
+        AtomicLongArray linha = linhas[x];
+        long atual = linha.get(w);
+        long resultado = atual | (atual << 1) | (atual >>> 1);
+        if (w > 0) {
+            resultado |= linha.get(w - 1) >>> 63;
+        }
+        if (w < palavrasPorLinha - 1) {
+            resultado |= linha.get(w + 1) << 63;
+        }
+        return resultado;
+    }
+
+    // Dilata a palavra w da linha x para toda a vizinhança 3x3 (linhas x-1..x+1).
+    long dilatar(int x, int w) {
+        long resultado = dilatarHorizontal(x, w);
+        if (x > 0) {
+            resultado |= dilatarHorizontal(x - 1, w);
+        }
+        if (x < altura - 1) {
+            resultado |= dilatarHorizontal(x + 1, w);
+        }
+        return resultado;
+    }
+}
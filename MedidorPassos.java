@@ -0,0 +1,60 @@
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de latência dos passos dos agentes (travar célula, mover, verificar vizinhos).
+ * Buckets log-lineares: cada potência de 2 em nanossegundos é dividida em 8 faixas,
+ * o que dá erro relativo de no máximo 12,5% nos percentis. Registrar não aloca nem trava.
+ */
+public class MedidorPassos {
+    private static final int SUBDIVISOES_BITS = 3;
+    private static final int SUBDIVISOES = 1 << SUBDIVISOES_BITS;
+    private final AtomicLongArray buckets = new AtomicLongArray(64 * SUBDIVISOES);
+
+    public void registrar(long nanos) {
+        if (nanos < 0) return;
+        buckets.incrementAndGet(bucket(nanos));
+    }
+
+    private static int bucket(long nanos) {
+        if (nanos < SUBDIVISOES) {
+            return (int) nanos;
+        }
+        int expoente = 63 - Long.numberOfLeadingZeros(nanos);
+        int sub = (int) (nanos >>> (expoente - SUBDIVISOES_BITS)) & (SUBDIVISOES - 1);
+        return (expoente - SUBDIVISOES_BITS + 1) * SUBDIVISOES + sub;
+    }
+
+    // Maior valor (em ns) que cai no bucket informado
+    private static long limiteSuperior(int bucket) {
+        if (bucket < SUBDIVISOES) {
+            return bucket;
+        }
+        int expoente = bucket / SUBDIVISOES + SUBDIVISOES_BITS - 1;
+        long sub = bucket % SUBDIVISOES;
+        long base = (SUBDIVISOES + sub) << (expoente - SUBDIVISOES_BITS);
+        return base + (1L << (expoente - SUBDIVISOES_BITS)) - 1;
+    }
+
+    public long getTotal() {
+        long total = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            total += buckets.get(i);
+        }
+        return total;
+    }
+
+    // Percentil aproximado (0 < p <= 100), em nanossegundos
+    public long percentil(double p) {
+        long total = getTotal();
+        if (total == 0) return 0;
+        long alvo = (long) Math.ceil(total * p / 100.0);
+        long acumulado = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            acumulado += buckets.get(i);
+            if (acumulado >= alvo) {
+                return limiteSuperior(i);
+            }
+        }
+        return limiteSuperior(buckets.length() - 1);
+    }
+}
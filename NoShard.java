@@ -0,0 +1,270 @@
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Processo que executa uma faixa de colunas (shard) do tabuleiro distribuído.
+ * Mantém um Tabuleiro local com a largura da faixa, atende pedidos dos shards vizinhos
+ * e do coordenador por um ServerSocket de loopback, e implementa VizinhancaRemota
+ * traduzindo as colunas -1 e largura para as coordenadas dos vizinhos.
+ */
+public class NoShard implements VizinhancaRemota {
+    // Conexões abertas com cada shard vizinho; cada uma é atendida por uma thread no vizinho
+    private static final int CONEXOES_POR_VIZINHO = 4;
+
+    private final int indice;
+    private final int numShards;
+    private final int larguraEsquerda;
+    private final Tabuleiro tabuleiro;
+    private CanalShard[] esquerda;
+    private CanalShard[] direita;
+    private CanalShard coordenador;
+    private volatile boolean abortado = false;
+    private final CountDownLatch iniciar = new CountDownLatch(1);
+    private final CountDownLatch encerrar = new CountDownLatch(1);
+
+    public NoShard(int indice, int numShards, int altura, int larguraGlobal, RelogioSimulacao relogio) {
+        this.indice = indice;
+        this.numShards = numShards;
+        int largura = SimulacaoDistribuida.larguraFaixa(indice, numShards, larguraGlobal);
+        this.larguraEsquerda = indice > 0 ? SimulacaoDistribuida.larguraFaixa(indice - 1, numShards, larguraGlobal) : 0;
+        this.tabuleiro = new Tabuleiro(altura, largura, relogio);
+    }
+
+    // Argumentos: indice numShards altura larguraGlobal numAzuis numZumbis fatorRelogio portaCoordenador
+    public static void main(String[] args) throws Exception {
+        int indice = Integer.parseInt(args[0]);
+        int numShards = Integer.parseInt(args[1]);
+        int altura = Integer.parseInt(args[2]);
+        int larguraGlobal = Integer.parseInt(args[3]);
+        int numAzuis = Integer.parseInt(args[4]);
+        int numZumbis = Integer.parseInt(args[5]);
+        double fator = Double.parseDouble(args[6]);
+        int portaCoordenador = Integer.parseInt(args[7]);
+
+        RelogioSimulacao relogio = fator == 1.0 ? new RelogioReal() : new RelogioEscalado(fator);
+        NoShard no = new NoShard(indice, numShards, altura, larguraGlobal, relogio);
+        no.executar(numAzuis, numZumbis, portaCoordenador);
+        System.exit(0);
+    }
+
+    private void executar(int numAzuis, int numZumbis, int portaCoordenador) throws IOException, InterruptedException {
+        ServerSocket servidor = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread aceitador = new Thread(() -> aceitarConexoes(servidor), "Shard-" + indice + "-aceitador");
+        aceitador.setDaemon(true);
+        aceitador.start();
+
+        // Registro no coordenador: envia (indice, porta) e recebe as portas de todos os shards
+        coordenador = CanalShard.conectar(portaCoordenador);
+        coordenador.saida().writeInt(indice);
+        coordenador.saida().writeInt(servidor.getLocalPort());
+        coordenador.saida().flush();
+        int n = coordenador.entrada().readInt();
+        int[] portas = new int[n];
+        for (int i = 0; i < n; i++) {
+            portas[i] = coordenador.entrada().readInt();
+        }
+
+        if (indice > 0) esquerda = conectarVizinho(portas[indice - 1]);
+        if (indice < numShards - 1) direita = conectarVizinho(portas[indice + 1]);
+        tabuleiro.setVizinhancaRemota(this);
+
+        List<Elemento> iniciais = posicionarIniciais(numAzuis, numZumbis);
+        coordenador.saida().writeByte(1); // Pronto
+        coordenador.saida().flush();
+
+        iniciar.await();
+        // O relógio conta desde a criação do shard; zera aqui para que o tempo de registro e
+        // conexão (multiplicado pelo fator) não entre no bias e todos os shards partam do mesmo zero
+        tabuleiro.getRelogio().zerar();
+        System.out.println("Shard " + indice + ": iniciando " + iniciais.size() + " elementos.");
+        for (Elemento e : iniciais) {
+            e.start();
+        }
+
+        encerrar.await();
+        servidor.close();
+    }
+
+    private static CanalShard[] conectarVizinho(int porta) throws IOException {
+        CanalShard[] canais = new CanalShard[CONEXOES_POR_VIZINHO];
+        for (int i = 0; i < canais.length; i++) {
+            canais[i] = CanalShard.conectar(porta);
+        }
+        return canais;
+    }
+
+    // Azuis começam na primeira coluna do tabuleiro global e Zumbis na última, como em Simulacao
+    private List<Elemento> posicionarIniciais(int numAzuis, int numZumbis) {
+        List<Elemento> iniciais = new ArrayList<>();
+        Random random = new Random();
+        int altura = tabuleiro.getAltura();
+        if (indice == 0) {
+            for (int i = 0; i < numAzuis; i++) {
+                int x;
+                do {
+                    x = random.nextInt(altura);
+                } while (tabuleiro.getPosicao(x, 0) != 0);
+                Azul azul = new Azul(x, 0, tabuleiro);
+                tabuleiro.adicionarElementoInicial(azul);
+                iniciais.add(azul);
+            }
+        }
+        if (indice == numShards - 1) {
+            int y = tabuleiro.getLargura() - 1;
+            for (int i = 0; i < numZumbis; i++) {
+                int x;
+                do {
+                    x = random.nextInt(altura);
+                } while (tabuleiro.getPosicao(x, y) != 0);
+                Zumbi zumbi = new Zumbi(x, y, tabuleiro);
+                tabuleiro.adicionarElementoInicial(zumbi);
+                iniciais.add(zumbi);
+            }
+        }
+        return iniciais;
+    }
+
+    private void aceitarConexoes(ServerSocket servidor) {
+        while (!servidor.isClosed()) {
+            try {
+                Socket socket = servidor.accept();
+                CanalShard conexao = new CanalShard(socket);
+                Thread t = new Thread(() -> atender(conexao), "Shard-" + indice + "-conexao");
+                t.setDaemon(true);
+                t.start();
+            } catch (IOException e) {
+                if (!servidor.isClosed()) {
+                    System.err.println("Shard " + indice + ": erro ao aceitar conexão: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    // Atende pedidos de um vizinho ou do coordenador. Nenhum pedido bloqueia em lock de célula.
+    private void atender(CanalShard conexao) {
+        DataInputStream in = conexao.entrada();
+        DataOutputStream out = conexao.saida();
+        try {
+            while (true) {
+                byte op = in.readByte();
+                switch (op) {
+                    case CanalShard.OP_TEM_TIPO:
+                        out.writeBoolean(tabuleiro.temTipoNaColuna(in.readInt(), in.readInt(), in.readInt()));
+                        break;
+                    case CanalShard.OP_TRANSFERIR:
+                        out.writeBoolean(tabuleiro.receberElementoTransferido(in.readInt(), in.readInt(), in.readInt()));
+                        break;
+                    case CanalShard.OP_CONVERTER:
+                        out.writeBoolean(tabuleiro.converterAzulNaColuna(in.readInt(), in.readInt()));
+                        break;
+                    case CanalShard.OP_CONTAR:
+                        out.writeInt(tabuleiro.getPopulacaoAzul());
+                        out.writeInt(tabuleiro.getPopulacaoZumbi());
+                        out.writeLong(tabuleiro.getTotalConversoes());
+                        out.writeLong(tabuleiro.getAzuisEnviados());
+                        out.writeLong(tabuleiro.getAzuisRecebidos());
+                        break;
+                    case CanalShard.OP_FIM:
+                        tabuleiro.terminarJogo(in.readUTF());
+                        out.writeByte(1);
+                        break;
+                    case CanalShard.OP_INICIAR:
+                        iniciar.countDown();
+                        out.writeByte(1);
+                        break;
+                    case CanalShard.OP_ENCERRAR:
+                        out.writeByte(1);
+                        out.flush();
+                        encerrar.countDown();
+                        return;
+                    default:
+                        throw new IOException("Operação desconhecida: " + op);
+                }
+                out.flush();
+            }
+        } catch (EOFException e) {
+            // Conexão fechada pelo outro lado
+        } catch (IOException e) {
+            System.err.println("Shard " + indice + ": erro na conexão: " + e.getMessage());
+        }
+    }
+
+    // --- VizinhancaRemota ---
+
+    @Override
+    public boolean temVizinhoEsquerda() {
+        return esquerda != null;
+    }
+
+    @Override
+    public boolean temVizinhoDireita() {
+        return direita != null;
+    }
+
+    // Cada agente usa sempre a mesma conexão do vizinho, e agentes diferentes se distribuem entre
+    // elas em vez de esperar todos na fila de um único socket
+    private CanalShard canalPara(int y) {
+        CanalShard[] canais = y < 0 ? esquerda : direita;
+        return canais[(int) (Thread.currentThread().getId() % canais.length)];
+    }
+
+    // Converte a coluna -1 / largura para a coluna local do shard vizinho
+    private int colunaRemota(int y) {
+        return y < 0 ? larguraEsquerda + y : y - tabuleiro.getLargura();
+    }
+
+    @Override
+    public boolean temTipoRemoto(int tipo, int x, int y) {
+        try {
+            return canalPara(y).temTipo(tipo, x, colunaRemota(y));
+        } catch (IOException e) {
+            System.err.println("Shard " + indice + ": falha ao consultar vizinho: " + e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public boolean transferirElemento(int tipo, int x, int y) {
+        try {
+            return canalPara(y).transferir(tipo, x, colunaRemota(y));
+        } catch (IOException e) {
+            // O vizinho pode ter criado o elemento antes da falha: manter o local poderia duplicá-lo
+            abortar("falha ao transferir elemento para o shard vizinho: " + e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public void requisitarConversaoRemota(int x, int y) {
+        try {
+            canalPara(y).converter(x, colunaRemota(y));
+        } catch (IOException e) {
+            System.err.println("Shard " + indice + ": falha ao requisitar conversão remota: " + e.getMessage());
+        }
+    }
+
+    // Encerra a execução com erro: o fim chega ao coordenador marcado com PREFIXO_ABORTO.
+    private void abortar(String motivo) {
+        System.err.println("Shard " + indice + ": " + motivo);
+        abortado = true;
+        tabuleiro.terminarJogo(motivo);
+    }
+
+    @Override
+    public void notificarFim(String mensagem) {
+        try {
+            coordenador.fim((abortado ? CanalShard.PREFIXO_ABORTO : "") + "Shard " + indice + ": " + mensagem);
+        } catch (IOException e) {
+            System.err.println("Shard " + indice + ": falha ao notificar fim: " + e.getMessage());
+        }
+    }
+}
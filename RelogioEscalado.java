@@ -0,0 +1,42 @@
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Relógio acelerado (ou desacelerado) por um fator constante sobre o tempo real.
+ * Com fator 100, um cenário de 5 minutos simulados dura 3 segundos reais.
+ */
+public class RelogioEscalado implements RelogioSimulacao {
+    private volatile long inicioNanos = System.nanoTime();
+    private final double fator;
+
+    public RelogioEscalado(double fator) {
+        if (fator <= 0) {
+            throw new IllegalArgumentException("Fator de escala deve ser positivo: " + fator);
+        }
+        this.fator = fator;
+    }
+
+    public double getFator() {
+        return fator;
+    }
+
+    @Override
+    public long getMillisPassados() {
+        return (long) ((System.nanoTime() - inicioNanos) * fator / 1_000_000);
+    }
+
+    @Override
+    public void zerar() {
+        inicioNanos = System.nanoTime();
+    }
+
+    @Override
+    public void dormir(long millis) throws InterruptedException {
+        TimeUnit.NANOSECONDS.sleep((long) (millis * 1_000_000 / fator));
+    }
+
+    @Override
+    public void estacionar(Object bloqueador, long millis) {
+        LockSupport.parkNanos(bloqueador, (long) (millis * 1_000_000 / fator));
+    }
+}
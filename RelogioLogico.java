@@ -0,0 +1,156 @@
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntSupplier;
+
+/**
+ * Relógio de ticks lógicos: o tempo só avança quando alguém chama tick()/avancar().
+ * Threads em dormir() ficam estacionadas até o tempo lógico alcançar o instante de acordar,
+ * e só as que venceram são acordadas a cada avanço (sem notifyAll para todas).
+ *
+ * Quem usa este relógio precisa dirigi-lo: chamando tick()/avancar() no seu próprio laço ou
+ * com iniciarConducao(), que avança sozinho sempre que todos os agentes estão dormindo.
+ * Sem nenhum dos dois, todos os agentes ficam parados para sempre em dormir().
+ */
+public class RelogioLogico implements RelogioSimulacao {
+    private final long millisPorTick;
+    private volatile long agoraMillis = 0;
+    private final PriorityQueue<Espera> esperas = new PriorityQueue<>();
+
+    private static class Espera implements Comparable<Espera> {
+        final long acordarEm;
+        final Thread thread;
+        volatile boolean vencida = false;
+
+        Espera(long acordarEm, Thread thread) {
+            this.acordarEm = acordarEm;
+            this.thread = thread;
+        }
+
+        @Override
+        public int compareTo(Espera outra) {
+            return Long.compare(acordarEm, outra.acordarEm);
+        }
+    }
+
+    public RelogioLogico(long millisPorTick) {
+        if (millisPorTick <= 0) {
+            throw new IllegalArgumentException("Duração do tick deve ser positiva: " + millisPorTick);
+        }
+        this.millisPorTick = millisPorTick;
+    }
+
+    public long getMillisPorTick() {
+        return millisPorTick;
+    }
+
+    public long getTicks() {
+        return agoraMillis / millisPorTick;
+    }
+
+    @Override
+    public long getMillisPassados() {
+        return agoraMillis;
+    }
+
+    // Volta o tempo lógico para zero. Só é seguro sem ninguém esperando no relógio:
+    // prazos já agendados continuariam contados a partir do tempo antigo.
+    @Override
+    public void zerar() {
+        synchronized (esperas) {
+            if (!esperas.isEmpty()) {
+                throw new IllegalStateException("Não é possível zerar o relógio com threads esperando.");
+            }
+            agoraMillis = 0;
+        }
+    }
+
+    // Quantidade de threads esperando o tempo lógico avançar (em dormir ou estacionar).
+    public int getThreadsEsperando() {
+        synchronized (esperas) {
+            return esperas.size();
+        }
+    }
+
+    // Avança um tick lógico.
+    public void tick() {
+        avancar(1);
+    }
+
+    // Avança 'ticks' ticks lógicos e acorda as threads cujo prazo venceu.
+    public void avancar(long ticks) {
+        synchronized (esperas) {
+            agoraMillis += ticks * millisPorTick;
+            while (!esperas.isEmpty() && esperas.peek().acordarEm <= agoraMillis) {
+                Espera e = esperas.poll();
+                e.vencida = true;
+                LockSupport.unpark(e.thread);
+            }
+        }
+    }
+
+    // Inicia uma thread daemon que dirige o relógio: quando as threads esperando no relógio
+    // somam pelo menos 'participantes' (normalmente a população do tabuleiro), ninguém mais pode
+    // agir antes do próximo prazo, então o tempo salta direto até ele. A simulação roda tão rápido
+    // quanto a CPU permite. Interromper a thread retornada encerra a condução.
+    public Thread iniciarConducao(IntSupplier participantes) {
+        Thread t = new Thread(() -> {
+            try {
+                synchronized (esperas) {
+                    while (!Thread.currentThread().isInterrupted()) {
+                        Espera proxima = esperas.peek();
+                        if (proxima != null && esperas.size() >= participantes.getAsInt()) {
+                            long faltam = proxima.acordarEm - agoraMillis;
+                            avancar((faltam + millisPorTick - 1) / millisPorTick);
+                        } else {
+                            // Acordada por dormir/estacionar; o prazo cobre agentes que terminam sem esperar
+                            esperas.wait(1);
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                // Condução encerrada
+            }
+        }, "RelogioLogico-conducao");
+        t.setDaemon(true);
+        t.start();
+        return t;
+    }
+
+    @Override
+    public void dormir(long millis) throws InterruptedException {
+        Espera espera;
+        synchronized (esperas) {
+            espera = new Espera(agoraMillis + millis, Thread.currentThread());
+            if (espera.acordarEm <= agoraMillis) return;
+            esperas.add(espera);
+            esperas.notifyAll(); // Avisa a condução, se houver
+        }
+        while (!espera.vencida) {
+            LockSupport.park(this);
+            if (Thread.interrupted()) {
+                synchronized (esperas) {
+                    esperas.remove(espera);
+                }
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    // Prazo em tempo lógico: acorda quando o relógio alcançar agora + millis ou antes, por unpark.
+    @Override
+    public void estacionar(Object bloqueador, long millis) {
+        Espera espera;
+        synchronized (esperas) {
+            espera = new Espera(agoraMillis + millis, Thread.currentThread());
+            if (espera.acordarEm <= agoraMillis) return;
+            esperas.add(espera);
+            esperas.notifyAll();
+        }
+        LockSupport.park(bloqueador);
+        if (!espera.vencida) {
+            synchronized (esperas) {
+                esperas.remove(espera);
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Relógio de parede: o tempo simulado é o tempo real.
+ * É o relógio padrão do Tabuleiro.
+ */
+public class RelogioReal implements RelogioSimulacao {
+    private volatile long inicioNanos = System.nanoTime();
+
+    @Override
+    public long getMillisPassados() {
+        return (System.nanoTime() - inicioNanos) / 1_000_000;
+    }
+
+    @Override
+    public void zerar() {
+        inicioNanos = System.nanoTime();
+    }
+
+    @Override
+    public void dormir(long millis) throws InterruptedException {
+        Thread.sleep(millis);
+    }
+
+    @Override
+    public void estacionar(Object bloqueador, long millis) {
+        LockSupport.parkNanos(bloqueador, TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+}
@@ -0,0 +1,22 @@
+/**
+ * Fonte de tempo da simulação.
+ * Os agentes usam o relógio do tabuleiro tanto para o bias progressivo de direção
+ * quanto para o tempo de espera entre movimentos, de forma que a simulação pode
+ * rodar em tempo real, acelerada ou dirigida por ticks lógicos.
+ */
+public interface RelogioSimulacao {
+
+    // Tempo simulado decorrido desde a criação do relógio (ou desde zerar()), em milissegundos.
+    long getMillisPassados();
+
+    // Marca o instante atual como o tempo simulado zero. Deve ser chamado antes de os agentes
+    // começarem, por quem decide quando a simulação de fato inicia (ex.: o OP_INICIAR de um shard).
+    void zerar();
+
+    // Bloqueia a thread atual por 'millis' milissegundos de tempo simulado.
+    void dormir(long millis) throws InterruptedException;
+
+    // Estaciona a thread atual por até 'millis' milissegundos de tempo simulado, como
+    // LockSupport.parkNanos: pode retornar antes por unpark ou interrupção, sem lançar exceção.
+    void estacionar(Object bloqueador, long millis);
+}
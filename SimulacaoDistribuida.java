@@ -0,0 +1,205 @@
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Coordenador da simulação distribuída.
+ * Divide um tabuleiro grande em faixas de colunas, executa cada faixa em um processo JVM
+ * separado (NoShard) na mesma máquina e coordena o fim de jogo global: repassa a todos os
+ * shards o fim detectado por qualquer um deles (vitória de Azul) e detecta, somando as
+ * contagens de todos os shards, quando não resta nenhum Azul.
+ *
+ * Os shards são lidos um de cada vez, então uma única leitura não é um retrato consistente:
+ * um Azul pode passar para um shard já lido e não ser contado em lugar nenhum. Por isso o fim
+ * "todos Zumbis" só é declarado quando duas leituras seguidas são idênticas (nenhum Azul entrou
+ * ou saiu de nenhum shard entre elas), com zero Azuis e todo Azul enviado já recebido.
+ * Se um shard abortar (falha de comunicação numa transferência), a execução termina com erro.
+ *
+ * Uso: java SimulacaoDistribuida numShards altura largura numAzuis numZumbis [fatorRelogio]
+ */
+public class SimulacaoDistribuida {
+    private static final long INTERVALO_VERIFICACAO_MS = 200;
+
+    // Largura da faixa i quando 'larguraGlobal' colunas são divididas entre 'numShards' shards
+    public static int larguraFaixa(int i, int numShards, int larguraGlobal) {
+        return larguraGlobal / numShards + (i < larguraGlobal % numShards ? 1 : 0);
+    }
+
+    // Primeira coluna global da faixa i
+    public static int inicioFaixa(int i, int numShards, int larguraGlobal) {
+        return i * (larguraGlobal / numShards) + Math.min(i, larguraGlobal % numShards);
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 5) {
+            System.err.println("Uso: java SimulacaoDistribuida numShards altura largura numAzuis numZumbis [fatorRelogio]");
+            System.exit(1);
+        }
+        int numShards = Integer.parseInt(args[0]);
+        int altura = Integer.parseInt(args[1]);
+        int largura = Integer.parseInt(args[2]);
+        int numAzuis = Math.min(Integer.parseInt(args[3]), altura);
+        int numZumbis = Math.min(Integer.parseInt(args[4]), altura);
+        String fator = args.length > 5 ? args[5] : "1.0";
+        if (numShards < 1 || numShards > largura) {
+            System.err.println("Número de shards deve estar entre 1 e a largura do tabuleiro.");
+            System.exit(1);
+        }
+
+        ServerSocket servidor = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        List<Process> processos = new ArrayList<>();
+        for (int i = 0; i < numShards; i++) {
+            processos.add(iniciarProcesso(i, numShards, altura, largura, numAzuis, numZumbis, fator, servidor.getLocalPort()));
+            System.out.println("Shard " + i + ": colunas " + inicioFaixa(i, numShards, largura) + " a "
+                    + (inicioFaixa(i, numShards, largura) + larguraFaixa(i, numShards, largura) - 1));
+        }
+
+        // Registro: cada shard informa (indice, porta) e recebe as portas de todos
+        CanalShard[] registros = new CanalShard[numShards];
+        int[] portas = new int[numShards];
+        for (int k = 0; k < numShards; k++) {
+            CanalShard registro = new CanalShard(servidor.accept());
+            int indice = registro.entrada().readInt();
+            portas[indice] = registro.entrada().readInt();
+            registros[indice] = registro;
+        }
+        servidor.close();
+        for (CanalShard registro : registros) {
+            registro.saida().writeInt(numShards);
+            for (int porta : portas) {
+                registro.saida().writeInt(porta);
+            }
+            registro.saida().flush();
+        }
+        for (CanalShard registro : registros) {
+            registro.entrada().readByte(); // Espera o shard posicionar seus elementos
+        }
+
+        // O canal de registro passa a receber as notificações de fim vindas dos shards
+        AtomicReference<String> fim = new AtomicReference<>();
+        for (int i = 0; i < numShards; i++) {
+            CanalShard registro = registros[i];
+            Thread t = new Thread(() -> receberNotificacoes(registro, fim));
+            t.setName("Coordenador-registro-" + i);
+            t.setDaemon(true);
+            t.start();
+        }
+
+        CanalShard[] shards = new CanalShard[numShards];
+        for (int i = 0; i < numShards; i++) {
+            shards[i] = CanalShard.conectar(portas[i]);
+        }
+        for (CanalShard shard : shards) {
+            shard.iniciar();
+        }
+        System.out.println("Coordenador: " + numShards + " shards iniciados.");
+
+        long[][] anterior = null;
+        while (fim.get() == null) {
+            Thread.sleep(INTERVALO_VERIFICACAO_MS);
+            long[][] atual = contarCada(shards);
+            if (anterior != null && semAzuisEstavel(anterior, atual)) {
+                fim.compareAndSet(null, "Todos os elementos são Zumbis!");
+            }
+            anterior = atual;
+        }
+
+        String mensagem = fim.get();
+        for (CanalShard shard : shards) {
+            shard.fim(mensagem);
+        }
+        long[] total = somar(contarCada(shards));
+        for (CanalShard shard : shards) {
+            shard.encerrar();
+        }
+        for (Process p : processos) {
+            p.waitFor();
+        }
+
+        boolean abortado = mensagem.startsWith(CanalShard.PREFIXO_ABORTO);
+        System.out.println("\n==================== FIM DE JOGO (GLOBAL) ====================");
+        System.out.println("Motivo: " + mensagem);
+        if (abortado) {
+            System.out.println("Execução abortada: as contagens abaixo não são confiáveis.");
+        }
+        System.out.println(total[0] + " Azuis, " + total[1] + " Zumbis, " + total[2] + " conversões");
+        System.out.println("==============================================================\n");
+        if (abortado) {
+            System.exit(1);
+        }
+    }
+
+    private static Process iniciarProcesso(int indice, int numShards, int altura, int largura,
+                                           int numAzuis, int numZumbis, String fator, int portaCoordenador) throws IOException {
+        String java = ProcessHandle.current().info().command()
+                .orElse(System.getProperty("java.home") + "/bin/java");
+        ProcessBuilder pb = new ProcessBuilder(java,
+                "-cp", System.getProperty("java.class.path"),
+                "NoShard",
+                String.valueOf(indice), String.valueOf(numShards),
+                String.valueOf(altura), String.valueOf(largura),
+                String.valueOf(numAzuis), String.valueOf(numZumbis),
+                fator, String.valueOf(portaCoordenador));
+        pb.inheritIO();
+        return pb.start();
+    }
+
+    // {azuis, zumbis, conversoes, azuisEnviados, azuisRecebidos} de cada shard, lidos em sequência
+    private static long[][] contarCada(CanalShard[] shards) throws IOException {
+        long[][] contagens = new long[shards.length][];
+        for (int i = 0; i < shards.length; i++) {
+            contagens[i] = shards[i].contar();
+        }
+        return contagens;
+    }
+
+    private static long[] somar(long[][] contagens) {
+        long[] total = new long[contagens[0].length];
+        for (long[] parcial : contagens) {
+            for (int i = 0; i < total.length; i++) {
+                total[i] += parcial[i];
+            }
+        }
+        return total;
+    }
+
+    // Fim "todos Zumbis": as duas leituras têm os mesmos Azuis, enviados e recebidos em cada shard
+    // (nenhuma transferência de Azul entre as leituras de um mesmo shard), todos os shards com zero
+    // Azuis e todo Azul enviado já recebido. Azuis só surgem por transferência, então nesse ponto
+    // não resta nenhum em lugar algum.
+    private static boolean semAzuisEstavel(long[][] anterior, long[][] atual) {
+        for (int i = 0; i < atual.length; i++) {
+            if (atual[i][0] != 0 || anterior[i][0] != 0
+                    || atual[i][3] != anterior[i][3] || atual[i][4] != anterior[i][4]) {
+                return false;
+            }
+        }
+        long[] total = somar(atual);
+        return total[3] == total[4] && total[1] > 0;
+    }
+
+    // Atende os pedidos OP_FIM enviados por um shard; vale apenas o primeiro fim recebido.
+    private static void receberNotificacoes(CanalShard registro, AtomicReference<String> fim) {
+        DataInputStream in = registro.entrada();
+        try {
+            while (true) {
+                byte op = in.readByte();
+                if (op != CanalShard.OP_FIM) {
+                    throw new IOException("Operação inesperada do shard: " + op);
+                }
+                fim.compareAndSet(null, in.readUTF());
+                registro.saida().writeByte(1);
+                registro.saida().flush();
+            }
+        } catch (EOFException e) {
+            // Shard encerrou
+        } catch (IOException e) {
+            System.err.println("Coordenador: erro no canal de registro: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,141 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Executa uma simulação sem GUI e grava os quadros com ExportadorQuadros.
+ * O posicionamento é o mesmo da Simulacao: Azuis na primeira coluna e Zumbis na última.
+ * Roda até o fim do jogo e então imprime o resultado e quantos quadros foram gravados.
+ * O arquivo gerado pode ser convertido em PNGs ou GIF com ConversorQuadros.
+ *
+ * Opcionalmente registra séries temporais com AmostradorEstatisticas a cada 'periodoAmostragemUs'
+ * microssegundos de tempo real (1000 = 1 kHz) e as exporta em CSV ou no formato binário,
+ * conforme a extensão do arquivo (.csv ou .bin).
+ *
+ * Uso: java SimulacaoLote altura largura numAzuis numZumbis fatorRelogio fps arquivoQuadros
+ *                         [periodoAmostragemUs arquivoEstatisticas]
+ */
+public class SimulacaoLote {
+    // Amostras mantidas no buffer circular (cerca de 2 minutos a 1 kHz); as mais antigas são sobrescritas
+    private static final int CAPACIDADE_AMOSTRAS = 1 << 17;
+    private static final int BINS_FRONTEIRA = 16;
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 7) {
+            System.err.println("Uso: java SimulacaoLote altura largura numAzuis numZumbis fatorRelogio fps arquivoQuadros"
+                    + " [periodoAmostragemUs arquivoEstatisticas(.csv|.bin)]");
+            System.exit(2);
+        }
+        int altura = Integer.parseInt(args[0]);
+        int largura = Integer.parseInt(args[1]);
+        int numAzuis = Integer.parseInt(args[2]);
+        int numZumbis = Integer.parseInt(args[3]);
+        double fator = Double.parseDouble(args[4]);
+        double fps = Double.parseDouble(args[5]);
+        Path arquivoQuadros = Paths.get(args[6]);
+        long periodoAmostragemUs = 0;
+        Path arquivoEstatisticas = null;
+        if (args.length >= 9) {
+            periodoAmostragemUs = Long.parseLong(args[7]);
+            arquivoEstatisticas = Paths.get(args[8]);
+            String nome = arquivoEstatisticas.getFileName().toString();
+            if (periodoAmostragemUs <= 0 || !(nome.endsWith(".csv") || nome.endsWith(".bin"))) {
+                System.err.println("periodoAmostragemUs deve ser positivo e arquivoEstatisticas terminar em .csv ou .bin.");
+                System.exit(2);
+            }
+        } else if (args.length == 8) {
+            System.err.println("periodoAmostragemUs precisa de arquivoEstatisticas.");
+            System.exit(2);
+        }
+        if (numAzuis < 1 || numAzuis > altura || numZumbis < 0 || numZumbis > altura) {
+            // Sem Azuis o jogo nunca termina; cada lado ocupa uma única coluna
+            System.err.println("numAzuis deve estar entre 1 e " + altura + " e numZumbis entre 0 e " + altura + ".");
+            System.exit(2);
+        }
+
+        RelogioSimulacao relogio = fator == 1.0 ? new RelogioReal() : new RelogioEscalado(fator);
+        Tabuleiro tabuleiro = new Tabuleiro(altura, largura, relogio);
+        List<Elemento> iniciais = posicionarIniciais(tabuleiro, numAzuis, numZumbis);
+
+        // Os agentes imprimem cada movimento; em lote isso só disputaria CPU com a captura
+        PrintStream relatorio = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        ExportadorQuadros exportador = new ExportadorQuadros(tabuleiro, arquivoQuadros, fps);
+        AmostradorEstatisticas amostrador = arquivoEstatisticas == null ? null
+                : new AmostradorEstatisticas(tabuleiro, CAPACIDADE_AMOSTRAS, BINS_FRONTEIRA);
+        exportador.iniciar();
+        relogio.zerar();
+        long inicio = System.nanoTime();
+        if (amostrador != null) {
+            amostrador.iniciar(periodoAmostragemUs * 1_000);
+        }
+        for (Elemento e : iniciais) {
+            e.start();
+        }
+        // terminarJogo interrompe todos os agentes, então cada thread termina após o fim do jogo
+        for (Elemento e : iniciais) {
+            e.join();
+        }
+        exportador.parar();
+        if (amostrador != null) {
+            amostrador.parar();
+        }
+        long duracaoMs = (System.nanoTime() - inicio) / 1_000_000;
+        if (amostrador != null) {
+            if (arquivoEstatisticas.getFileName().toString().endsWith(".bin")) {
+                amostrador.exportarBinario(arquivoEstatisticas);
+            } else {
+                amostrador.exportarCsv(arquivoEstatisticas);
+            }
+        }
+
+        System.setOut(relatorio);
+        System.out.println("Resultado final: " + tabuleiro.getMensagemFim());
+        System.out.println(tabuleiro.getPopulacaoAzul() + " Azuis, " + tabuleiro.getPopulacaoZumbi() + " Zumbis, "
+                + tabuleiro.getTotalConversoes() + " conversões");
+        System.out.println("Tempo real: " + duracaoMs + " ms, tempo simulado: " + relogio.getMillisPassados() + " ms");
+        System.out.println("Quadros: " + exportador.getQuadrosGravados() + " gravados, "
+                + exportador.getQuadrosDescartados() + " descartados em " + arquivoQuadros);
+        if (amostrador != null) {
+            long esperadas = duracaoMs * 1_000 / periodoAmostragemUs;
+            System.out.println("Amostras: " + amostrador.getTotalAmostras() + " (esperadas ~" + esperadas + "), "
+                    + amostrador.getQuantidadeAmostras() + " exportadas em " + arquivoEstatisticas);
+        }
+    }
+
+    private static List<Elemento> posicionarIniciais(Tabuleiro tabuleiro, int numAzuis, int numZumbis) {
+        Random random = new Random();
+        int altura = tabuleiro.getAltura();
+        List<Elemento> iniciais = new ArrayList<>();
+
+        // Azuis na coluna y = 0
+        for (int i = 0; i < numAzuis; i++) {
+            int x;
+            do {
+                x = random.nextInt(altura);
+            } while (tabuleiro.getPosicao(x, 0) != 0);
+            Azul azul = new Azul(x, 0, tabuleiro);
+            tabuleiro.adicionarElementoInicial(azul);
+            iniciais.add(azul);
+        }
+
+        // Zumbis na coluna y = largura - 1
+        int ultima = tabuleiro.getLargura() - 1;
+        for (int i = 0; i < numZumbis; i++) {
+            int x;
+            do {
+                x = random.nextInt(altura);
+            } while (tabuleiro.getPosicao(x, ultima) != 0);
+            Zumbi zumbi = new Zumbi(x, ultima, tabuleiro);
+            tabuleiro.adicionarElementoInicial(zumbi);
+            iniciais.add(zumbi);
+        }
+        return iniciais;
+    }
+}
@@ -1,6 +1,10 @@
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Random;
@@ -14,15 +18,46 @@ public class Tabuleiro {
     private volatile boolean jogoAcabou = false;
     private String mensagemFim = "";
     private final Random random = new Random();
-    private long tempoInicioSimulacao;
+    private final RelogioSimulacao relogio;
+    // Mapas de bits de ocupação por tipo, mantidos em sincronia com a grid
+    private final MapaOcupacao ocupacaoAzul;
+    private final MapaOcupacao ocupacaoZumbi;
+    // Thread estacionada em cada célula aguardando mudança na vizinhança (índice x * largura + y)
+    private final AtomicReferenceArray<Thread> aguardandoVaga;
+    private volatile boolean esperaAdaptativa = false;
+    // Contadores agregados para amostragem sem percorrer a lista 'elementos'
+    private final LongAdder populacaoAzul = new LongAdder();
+    private final LongAdder populacaoZumbi = new LongAdder();
+    private final LongAdder totalConversoes = new LongAdder();
+    private final LongAdder somaColunasAzul = new LongAdder();
+    // Azuis entregues a / recebidos de shards vizinhos, para a detecção de fim do coordenador
+    private final LongAdder azuisEnviados = new LongAdder();
+    private final LongAdder azuisRecebidos = new LongAdder();
+    // Shards vizinhos quando o tabuleiro é uma faixa de colunas de um tabuleiro maior (null se local)
+    private volatile VizinhancaRemota remoto;
+    // Medição opcional da latência dos passos dos agentes (null = desligada)
+    private volatile MedidorPassos medidorPassos;
+    // Tempo máximo (simulado) de cada estacionamento; apenas rede de segurança, a espera é encerrada por notificação
+    private static final long TEMPO_MAX_ESPERA_MS = 10_000;
+    // Passos seguidos sem conseguir mover antes de o agente passar a aguardar notificação.
+    // Com menos que isso, vizinhos que vagam a todo momento (densidade moderada) fariam os
+    // agentes estacionar e acordar mais vezes do que o simples sorteio de intervalo.
+    public static final int PASSOS_BLOQUEADOS_PARA_AGUARDAR = 3;
 
     public Tabuleiro(int altura, int largura) {
+        this(altura, largura, new RelogioReal());
+    }
+
+    public Tabuleiro(int altura, int largura, RelogioSimulacao relogio) {
         this.altura = altura;
         this.largura = largura;
         this.grid = new int[altura][largura]; // Inicializa com 0 (vazio)
         this.locks = new ReentrantLock[altura][largura];
         this.elementos = Collections.synchronizedList(new ArrayList<>());
-        this.tempoInicioSimulacao = System.currentTimeMillis(); // Marca o tempo inicial
+        this.relogio = relogio; // Tempo simulado começa a contar na criação do relógio
+        this.ocupacaoAzul = new MapaOcupacao(altura, largura);
+        this.ocupacaoZumbi = new MapaOcupacao(altura, largura);
+        this.aguardandoVaga = new AtomicReferenceArray<>(altura * largura);
 
         // Inicializa os locks
         for (int i = 0; i < altura; i++) {
@@ -40,8 +75,13 @@ public class Tabuleiro {
         return largura;
     }
     
+    public RelogioSimulacao getRelogio() {
+        return relogio;
+    }
+
+    // Segundos de tempo simulado (não necessariamente de parede) desde o início
     public long getSegundosPassados() {
-        return (System.currentTimeMillis() - tempoInicioSimulacao) / 1000;
+        return relogio.getMillisPassados() / 1000;
     }
 
     // Retorna o tipo de elemento na célula ou 0 se vazia, -1 se fora dos limites.
@@ -58,6 +98,338 @@ public class Tabuleiro {
         return x >= 0 && x < altura && y >= 0 && y < largura;
     }
 
+    // --- Mapas de Ocupação ---
+
+    private MapaOcupacao getMapa(int tipo) {
+        if (tipo == 1) return ocupacaoAzul;
+        if (tipo == 2) return ocupacaoZumbi;
+        return null;
+    }
+
+    // Verifica, com operações sobre palavras de bits, se há algum elemento do tipo
+    // informado nas 8 células vizinhas de (x, y). Leitura sem lock, como getPosicao.
+    // Só consulta o shard vizinho (um único pedido) se o mapa local não encontrar nada.
+    public boolean temVizinhoDoTipo(int x, int y, int tipo) {
+        if (temVizinhoLocalDoTipo(x, y, tipo)) return true;
+        if (!isDentroDosLimites(x, y)) return false;
+        // Nas colunas de borda de um shard, a vizinhança continua no shard ao lado
+        if (y == 0 && isColunaRemota(x, -1) && remoto.temTipoRemoto(tipo, x, -1)) return true;
+        return y == largura - 1 && isColunaRemota(x, largura) && remoto.temTipoRemoto(tipo, x, largura);
+    }
+
+    // Como temVizinhoDoTipo, mas apenas no tabuleiro local (nunca consulta shards vizinhos).
+    public boolean temVizinhoLocalDoTipo(int x, int y, int tipo) {
+        MapaOcupacao mapa = getMapa(tipo);
+        if (mapa == null || !isDentroDosLimites(x, y)) return false;
+        return mapa.temVizinhoMarcado(x, y);
+    }
+
+    // Bit de (x, y) no mapa de ocupação do tipo; usado para conferir os mapas contra a grid.
+    boolean isMarcadoNoMapa(int tipo, int x, int y) {
+        MapaOcupacao mapa = getMapa(tipo);
+        return mapa != null && isDentroDosLimites(x, y) && mapa.isMarcado(x, y);
+    }
+
+    // Há elemento do tipo em alguma das células (x-1..x+1, y)? Responde pedidos de shards vizinhos.
+    public boolean temTipoNaColuna(int tipo, int x, int y) {
+        MapaOcupacao mapa = getMapa(tipo);
+        if (mapa == null || y < 0 || y >= largura) return false;
+        for (int i = Math.max(0, x - 1); i <= Math.min(altura - 1, x + 1); i++) {
+            if (mapa.isMarcado(i, y)) return true;
+        }
+        return false;
+    }
+
+    // Calcula em bloco a fronteira de contato: bit (i, j) ligado se há um Azul em (i, j)
+    // com pelo menos um Zumbi adjacente. destino deve ter [altura][getPalavrasPorLinha()].
+    public void calcularFronteira(long[][] destino) {
+        int palavras = ocupacaoAzul.getPalavrasPorLinha();
+        for (int i = 0; i < altura; i++) {
+            for (int w = 0; w < palavras; w++) {
+                destino[i][w] = ocupacaoAzul.getPalavra(i, w) & ocupacaoZumbi.dilatar(i, w);
+            }
+        }
+    }
+
+    public long[][] getFronteira() {
+        long[][] fronteira = new long[altura][ocupacaoAzul.getPalavrasPorLinha()];
+        calcularFronteira(fronteira);
+        return fronteira;
+    }
+
+    // Conta os Azuis na fronteira de contato sem alocar memória.
+    public int contarFronteira() {
+        int palavras = ocupacaoAzul.getPalavrasPorLinha();
+        int total = 0;
+        for (int i = 0; i < altura; i++) {
+            for (int w = 0; w < palavras; w++) {
+                total += Long.bitCount(ocupacaoAzul.getPalavra(i, w) & ocupacaoZumbi.dilatar(i, w));
+            }
+        }
+        return total;
+    }
+
+    public int getPalavrasPorLinha() {
+        return ocupacaoAzul.getPalavrasPorLinha();
+    }
+
+    // Distribui os Azuis da fronteira de contato por coluna em bins.length faixas de largura igual.
+    // Não aloca memória; os valores anteriores de bins são sobrescritos.
+    public void preencherHistogramaFronteira(int[] bins) {
+        Arrays.fill(bins, 0);
+        int numBins = bins.length;
+        int palavras = ocupacaoAzul.getPalavrasPorLinha();
+        for (int i = 0; i < altura; i++) {
+            for (int w = 0; w < palavras; w++) {
+                long bits = ocupacaoAzul.getPalavra(i, w) & ocupacaoZumbi.dilatar(i, w);
+                while (bits != 0) {
+                    int coluna = (w << 6) + Long.numberOfTrailingZeros(bits);
+                    bins[(int) ((long) coluna * numBins / largura)]++;
+                    bits &= bits - 1; // Remove o bit menos significativo
+                }
+            }
+        }
+    }
+
+    // --- Contadores Agregados ---
+    // Leitura sem lock e sem alocação; podem divergir momentaneamente da grid durante um movimento.
+
+    public int getPopulacaoAzul() {
+        return populacaoAzul.intValue();
+    }
+
+    public int getPopulacaoZumbi() {
+        return populacaoZumbi.intValue();
+    }
+
+    public long getTotalConversoes() {
+        return totalConversoes.sum();
+    }
+
+    // Soma das colunas (y) de todos os Azuis; dividida pela população dá a coluna média.
+    public long getSomaColunasAzul() {
+        return somaColunasAzul.sum();
+    }
+
+    public long getAzuisEnviados() {
+        return azuisEnviados.sum();
+    }
+
+    public long getAzuisRecebidos() {
+        return azuisRecebidos.sum();
+    }
+
+    // --- Espera Adaptativa ---
+
+    public boolean isEsperaAdaptativa() {
+        return esperaAdaptativa;
+    }
+
+    // Liga/desliga a espera adaptativa. Desligada (padrão), agentes cercados continuam acordando e tentando mover.
+    // Só compensa com o tabuleiro acima de ~95% de ocupação: abaixo disso as vagas aparecem rápido
+    // e estacionar/acordar custa tanta CPU quanto o sorteio normal de intervalos.
+    public void setEsperaAdaptativa(boolean esperaAdaptativa) {
+        this.esperaAdaptativa = esperaAdaptativa;
+    }
+
+    // Retorna true se as 8 células vizinhas de (x, y) estão ocupadas (fora dos limites conta como ocupada).
+    public boolean isCercado(int x, int y) {
+        if (!isDentroDosLimites(x, y)) return false;
+        // Vagas em shards vizinhos não geram notificação local; elementos na borda nunca dormem
+        if (isColunaRemota(x, y - 1) || isColunaRemota(x, y + 1)) return false;
+        int linhas = Math.min(altura - 1, x + 1) - Math.max(0, x - 1) + 1;
+        int colunas = Math.min(largura - 1, y + 1) - Math.max(0, y - 1) + 1;
+        int vizinhosNoTabuleiro = linhas * colunas - 1;
+        return ocupacaoAzul.contarVizinhosMarcados(x, y) + ocupacaoZumbi.contarVizinhosMarcados(x, y) == vizinhosNoTabuleiro;
+    }
+
+    // O elemento só pode dormir se estiver cercado e sem nenhum inimigo adjacente para converter/ser convertido.
+    private boolean podeAguardar(Elemento elemento, int x, int y) {
+        int tipoOposto = elemento.getTipo() == 1 ? 2 : 1;
+        return isCercado(x, y) && !temVizinhoDoTipo(x, y, tipoOposto);
+    }
+
+    // Estaciona a thread do elemento enquanto ele estiver completamente bloqueado.
+    // Deve ser chamado SEM nenhum lock de célula adquirido. Retorna imediatamente se a espera
+    // adaptativa estiver desligada ou se o elemento não estiver bloqueado.
+    // A thread é acordada por notificarVizinhos quando uma célula vizinha esvazia ou é convertida.
+    // Retorna o tempo simulado (ms) que passou estacionada, para o agente descontar do seu intervalo.
+    public long aguardarVagaVizinha(Elemento elemento) throws InterruptedException {
+        if (!esperaAdaptativa) return 0;
+        int x = elemento.getXPos();
+        int y = elemento.getYPos();
+        if (!isDentroDosLimites(x, y)) return 0;
+
+        int indice = x * largura + y;
+        Thread atual = Thread.currentThread();
+        long inicio = relogio.getMillisPassados();
+        try {
+            // Registra antes de verificar: quem esvazia a célula atualiza o mapa antes de ler o registro,
+            // então ou vemos a mudança aqui ou somos acordados por unpark. O registro é refeito a cada
+            // volta porque quem notifica o retira.
+            while (!jogoAcabou) {
+                aguardandoVaga.set(indice, atual);
+                if (!podeAguardar(elemento, x, y)) break;
+                relogio.estacionar(this, TEMPO_MAX_ESPERA_MS);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        } finally {
+            aguardandoVaga.compareAndSet(indice, atual, null);
+        }
+        return relogio.getMillisPassados() - inicio;
+    }
+
+    // Acorda threads estacionadas nas 8 células vizinhas de (x, y). Uma célula que vagou só
+    // comporta um elemento, então basta acordar um vizinho ('todos' = false); uma conversão
+    // muda a vizinhança de todos eles ('todos' = true).
+    private void notificarVizinhos(int x, int y, boolean todos) {
+        for (int i = Math.max(0, x - 1); i <= Math.min(altura - 1, x + 1); i++) {
+            for (int j = Math.max(0, y - 1); j <= Math.min(largura - 1, y + 1); j++) {
+                if (i == x && j == y) continue;
+                Thread t = aguardandoVaga.getAndSet(i * largura + j, null);
+                if (t != null) {
+                    LockSupport.unpark(t);
+                    if (!todos) return;
+                }
+            }
+        }
+    }
+
+    // --- Medição de Passos ---
+
+    public void setMedidorPassos(MedidorPassos medidorPassos) {
+        this.medidorPassos = medidorPassos;
+    }
+
+    // Chamado pelos agentes ao fim de cada passo com a duração em nanossegundos.
+    public void registrarPasso(long nanos) {
+        MedidorPassos m = medidorPassos;
+        if (m != null) {
+            m.registrar(nanos);
+        }
+    }
+
+    // --- Particionamento em Shards ---
+
+    public void setVizinhancaRemota(VizinhancaRemota remoto) {
+        this.remoto = remoto;
+    }
+
+    public VizinhancaRemota getVizinhancaRemota() {
+        return remoto;
+    }
+
+    // Retorna true se (x, y) é uma célula da coluna adjacente pertencente a outro shard.
+    public boolean isColunaRemota(int x, int y) {
+        VizinhancaRemota r = remoto;
+        if (r == null || x < 0 || x >= altura) return false;
+        return (y == -1 && r.temVizinhoEsquerda()) || (y == largura && r.temVizinhoDireita());
+    }
+
+    // Coluna y é a borda direita do tabuleiro completo (condição de vitória do Azul)?
+    public boolean isBordaDireita(int y) {
+        VizinhancaRemota r = remoto;
+        return y == largura - 1 && (r == null || !r.temVizinhoDireita());
+    }
+
+    // Recebe um elemento transferido por um shard vizinho. Não bloqueia: se a célula estiver
+    // travada ou ocupada, recusa e o shard de origem tenta outra direção.
+    public boolean receberElementoTransferido(int tipo, int x, int y) {
+        if (jogoAcabou || !isDentroDosLimites(x, y) || (tipo != 1 && tipo != 2)) return false;
+        Lock lock = locks[x][y];
+        if (!lock.tryLock()) return false;
+        Elemento novo;
+        try {
+            if (jogoAcabou || grid[x][y] != 0) return false;
+            novo = (tipo == 1) ? new Azul(x, y, this) : new Zumbi(x, y, this);
+            grid[x][y] = tipo;
+            getMapa(tipo).marcar(x, y);
+            if (tipo == 1) {
+                populacaoAzul.increment();
+                somaColunasAzul.add(y);
+                azuisRecebidos.increment();
+            } else {
+                populacaoZumbi.increment();
+            }
+            elementos.add(novo);
+            novo.start();
+        } finally {
+            lock.unlock();
+        }
+        if (tipo == 1 && isBordaDireita(y)) {
+            terminarJogo("Azul ID " + novo.getId() + " venceu! Chegou à borda direita.");
+        }
+        return true;
+    }
+
+    // Entrega o elemento ao shard vizinho. Assume que o lock da ORIGEM está adquirido.
+    // Se a comunicação falhar, a VizinhancaRemota aborta a execução e o elemento fica parado aqui.
+    private boolean transferirParaRemoto(int xAntigo, int yAntigo, int xNovo, int yNovo, Elemento elemento) {
+        if (jogoAcabou || !remoto.transferirElemento(elemento.getTipo(), xNovo, yNovo)) {
+            return false;
+        }
+        grid[xAntigo][yAntigo] = 0;
+        getMapa(elemento.getTipo()).limpar(xAntigo, yAntigo);
+        notificarVizinhos(xAntigo, yAntigo, false);
+        if (elemento.getTipo() == 1) {
+            populacaoAzul.decrement();
+            somaColunasAzul.add(-yAntigo);
+            azuisEnviados.increment();
+        } else {
+            populacaoZumbi.decrement();
+        }
+        elementos.remove(elemento);
+        elemento.interrupt(); // A thread local termina; o shard vizinho criou a sua
+        return true;
+    }
+
+    // Conversão pedida por um Zumbi de outro shard adjacente às células (x-1..x+1, y): converte
+    // o primeiro Azul encontrado. O mapa de bits descarta o pedido sem travar nada quando não há
+    // Azul; tryLock garante que a thread de rede nunca bloqueia. Se falhar, o Zumbi tenta de novo
+    // no próximo passo.
+    public boolean converterAzulNaColuna(int x, int y) {
+        if (jogoAcabou || !temTipoNaColuna(1, x, y)) return false;
+        for (int i = Math.max(0, x - 1); i <= Math.min(altura - 1, x + 1); i++) {
+            if (!ocupacaoAzul.isMarcado(i, y)) continue;
+            Lock lock = locks[i][y];
+            if (!lock.tryLock()) continue;
+            try {
+                if (jogoAcabou || grid[i][y] != 1) continue;
+                Azul alvo = null;
+                synchronized (elementos) {
+                    for (Elemento e : elementos) {
+                        if (e.getTipo() == 1 && e.getXPos() == i && e.getYPos() == y && e.isAlive()) {
+                            alvo = (Azul) e;
+                            break;
+                        }
+                    }
+                }
+                if (alvo != null) {
+                    System.out.println("Conversão remota requisitada para Azul ID " + alvo.getId() + " em (" + i + "," + y + ").");
+                    realizarConversao(alvo, i, y);
+                    return true;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return false;
+    }
+
+    // Método chamado pelo Zumbi em (x, y) na borda do shard: pede ao shard vizinho, com um único
+    // pedido por lado, que converta um Azul adjacente na coluna dele.
+    public void requisitarConversaoRemota(int x, int y) {
+        if (jogoAcabou || !isDentroDosLimites(x, y)) return;
+        if (y == 0 && isColunaRemota(x, -1)) {
+            remoto.requisitarConversaoRemota(x, -1);
+        }
+        if (y == largura - 1 && isColunaRemota(x, largura)) {
+            remoto.requisitarConversaoRemota(x, largura);
+        }
+    }
+
     // --- Métodos de Lock --- 
 
     public Lock getLock(int x, int y) {
@@ -77,6 +449,13 @@ public class Tabuleiro {
             // Não precisa de lock para escrita inicial assumindo que Simulacao garante não sobreposição.
             if (grid[x][y] == 0) {
                 grid[x][y] = elemento.getTipo();
+                getMapa(elemento.getTipo()).marcar(x, y);
+                if (elemento.getTipo() == 1) {
+                    populacaoAzul.increment();
+                    somaColunasAzul.add(y);
+                } else {
+                    populacaoZumbi.increment();
+                }
                 elementos.add(elemento); // Adiciona à lista mestre
             } else {
                 System.err.println("!!! Erro ao adicionar elemento inicial em (" + x + "," + y + "): Célula não estava vazia!");
@@ -89,6 +468,9 @@ public class Tabuleiro {
     // Move um elemento. Assume que o lock da célula de ORIGEM está adquirido pela thread.
     // Tenta adquirir o lock do DESTINO.
     public boolean tentarMoverElemento(int xAntigo, int yAntigo, int xNovo, int yNovo, Elemento elemento) {
+        if (isDentroDosLimites(xAntigo, yAntigo) && isColunaRemota(xNovo, yNovo)) {
+            return transferirParaRemoto(xAntigo, yAntigo, xNovo, yNovo, elemento);
+        }
         if (!isDentroDosLimites(xAntigo, yAntigo) || !isDentroDosLimites(xNovo, yNovo)) {
             return false; // Posições inválidas
         }
@@ -102,6 +484,13 @@ public class Tabuleiro {
                 if (grid[xNovo][yNovo] == 0) { // Verifica se destino está vazio
                     grid[xNovo][yNovo] = elemento.getTipo(); // Ocupa nova posição
                     grid[xAntigo][yAntigo] = 0; // Libera posição antiga
+                    MapaOcupacao mapa = getMapa(elemento.getTipo());
+                    mapa.marcar(xNovo, yNovo);
+                    mapa.limpar(xAntigo, yAntigo);
+                    notificarVizinhos(xAntigo, yAntigo, false); // Célula antiga vagou
+                    if (elemento.getTipo() == 1) {
+                        somaColunasAzul.add(yNovo - yAntigo);
+                    }
                     elemento.updatePosition(xNovo, yNovo); // Atualiza posição interna do elemento
                     return true; // Movimento bem-sucedido
                 }
@@ -127,8 +516,8 @@ public class Tabuleiro {
         
         lockAzul.lock(); // Bloqueia a célula do Azul
         try {
-            // Revalida: A célula ainda contém este Azul e ele está vivo?
-            if (grid[x][y] == 1 && azul.isAlive()) {
+            // Revalida: A célula ainda contém este Azul e ele está vivo? O jogo pode ter acabado enquanto esperava o lock.
+            if (!jogoAcabou && grid[x][y] == 1 && azul.isAlive()) {
                  System.out.println("Azul ID " + azul.getId() + " em (" + x + "," + y + ") requisitou auto-conversão.");
                  realizarConversao(azul, x, y);
             } else {
@@ -150,8 +539,8 @@ public class Tabuleiro {
         
         lockAzul.lock(); // Bloqueia a célula do Azul
         try {
-             // Revalida: A célula ainda contém este Azul e ele está vivo?
-            if (grid[x][y] == 1 && azulDetectado.isAlive()) {
+             // Revalida: A célula ainda contém este Azul e ele está vivo? O jogo pode ter acabado enquanto esperava o lock.
+            if (!jogoAcabou && grid[x][y] == 1 && azulDetectado.isAlive()) {
                  System.out.println("Conversão requisitada para Azul ID " + azulDetectado.getId() + " em (" + x + "," + y + ").");
                  realizarConversao((Azul)azulDetectado, x, y);
             } else {
@@ -172,6 +561,13 @@ public class Tabuleiro {
         
         // 2. Atualizar grid para Zumbi
         grid[convX][convY] = 2; // Marca como Zumbi
+        ocupacaoAzul.limpar(convX, convY);
+        ocupacaoZumbi.marcar(convX, convY);
+        notificarVizinhos(convX, convY, true); // Vizinhos estacionados podem agora ter um Zumbi ao lado
+        populacaoAzul.decrement();
+        somaColunasAzul.add(-convY);
+        populacaoZumbi.increment();
+        totalConversoes.increment();
         
         // 3. Criar e adicionar novo Zumbi
         Zumbi novoZumbi = new Zumbi(convX, convY, this);
@@ -189,6 +585,7 @@ public class Tabuleiro {
     // Verifica se todos os elementos restantes são Zumbis.
     // Deve ser chamado dentro de um bloco synchronized(elementos)
     private void verificarFimTodosZumbis() {
+        if (remoto != null) return; // Particionado: só o coordenador enxerga todos os shards
         int azulCount = 0;
         for (Elemento e : elementos) {
             if (e.getTipo() == 1 && e.isAlive()) {
@@ -196,8 +593,7 @@ public class Tabuleiro {
             }
         }
         if(azulCount == 0 && !elementos.isEmpty()){ // Garante que não acabou só porque a lista está vazia
-            // Pequena pausa para garantir que a mensagem de conversão apareça antes do fim de jogo
-            try { Thread.sleep(50); } catch (InterruptedException ignored) {}
+            // Sem pausa aqui: este método roda com o lock da célula e o monitor de 'elementos' adquiridos
             terminarJogo("Todos os elementos são Zumbis!");
         }
     }
@@ -215,6 +611,9 @@ public class Tabuleiro {
             for (Elemento e : copiaElementos) {
                 e.interrupt();
             }
+            if (remoto != null) {
+                remoto.notificarFim(mensagem); // Coordenador propaga para os outros shards
+            }
         }
     }
 
@@ -263,6 +662,18 @@ public class Tabuleiro {
         return contAzul + " Azuis, " + contZumbi + " Zumbis vivos";
     }
     
+    // Copia a grid para 'destino' (altura * largura bytes, linha a linha) como índices de paleta
+    // 0 vazio, 1 Azul, 2 Zumbi. Sem lock e sem alocação, com a mesma consistência de getGridCopy.
+    public void copiarQuadro(byte[] destino) {
+        int k = 0;
+        for (int i = 0; i < altura; i++) {
+            int[] linha = grid[i];
+            for (int j = 0; j < largura; j++) {
+                destino[k++] = (byte) linha[j];
+            }
+        }
+    }
+
     // Retorna a grid atual (para GUI). Retorna cópia para segurança.
     public int[][] getGridCopy() {
         int[][] copy = new int[altura][largura];
@@ -0,0 +1,26 @@
+/**
+ * Acesso às colunas vizinhas de um tabuleiro particionado em shards (faixas de colunas).
+ * As coordenadas são as do tabuleiro local: a coluna y = -1 é a última coluna do shard
+ * da esquerda e a coluna y = largura é a primeira coluna do shard da direita.
+ * Implementações não devem bloquear esperando locks do shard remoto.
+ */
+public interface VizinhancaRemota {
+
+    boolean temVizinhoEsquerda();
+
+    boolean temVizinhoDireita();
+
+    // Retorna true se alguma das células (x-1..x+1, y) remotas contém um elemento do tipo informado.
+    boolean temTipoRemoto(int tipo, int x, int y);
+
+    // Tenta entregar um elemento ao shard vizinho na célula (x, y). Retorna true se foi aceito.
+    // Se a comunicação falhar, não se sabe se o vizinho criou o elemento: a implementação deve
+    // abortar a execução (fim de jogo com erro) e retornar false.
+    boolean transferirElemento(int tipo, int x, int y);
+
+    // Pede ao shard vizinho que converta um Azul em alguma das células (x-1..x+1, y), se houver.
+    void requisitarConversaoRemota(int x, int y);
+
+    // Informa ao coordenador que o jogo terminou neste shard.
+    void notificarFim(String mensagem);
+}
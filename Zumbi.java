@@ -22,14 +22,27 @@ public class Zumbi extends Elemento {
 
     @Override
     public void run() {
+        int passosBloqueados = 0; // Passos seguidos sem conseguir mover
         while (!tabuleiro.isJogoAcabou() && !Thread.currentThread().isInterrupted()) {
             Lock currentLock = null;
+            long inicioPasso = 0;
             try {
-                // Tempo aleatório entre movimentos
-                Thread.sleep(random.nextInt(901) + 100);
+                // Tempo aleatório entre movimentos (em tempo simulado)
+                long intervalo = random.nextInt(901) + 100;
+
+                // Bloqueado há vários passos: dorme até uma célula vizinha mudar. A espera conta como
+                // parte do intervalo, então ao acordar só dorme o que faltar dele (ou nada).
+                if (passosBloqueados >= Tabuleiro.PASSOS_BLOQUEADOS_PARA_AGUARDAR) {
+                    intervalo -= tabuleiro.aguardarVagaVizinha(this);
+                    if (tabuleiro.isJogoAcabou() || Thread.currentThread().isInterrupted()) break;
+                }
+                if (intervalo > 0) {
+                    tabuleiro.getRelogio().dormir(intervalo);
+                }
 
                 if (tabuleiro.isJogoAcabou() || Thread.currentThread().isInterrupted()) break;
 
+                inicioPasso = System.nanoTime(); // Passo = travar célula, mover e verificar vizinhos
                 int currentX = this.x;
                 int currentY = this.y;
 
@@ -45,6 +58,7 @@ public class Zumbi extends Elemento {
 
                 // --- Tentar Mover com Bias --- 
                 boolean moved = tentarMoverComBias(currentX, currentY);
+                passosBloqueados = moved ? 0 : passosBloqueados + 1;
                 
                 // --- Verificar Vizinhos Pós-Movimento (ou se não moveu) ---
                 int checkX = this.x;
@@ -63,6 +77,9 @@ public class Zumbi extends Elemento {
                 if (currentLock != null && ((ReentrantLock)currentLock).isHeldByCurrentThread()) {
                     currentLock.unlock();
                 }
+                if (inicioPasso != 0) {
+                    tabuleiro.registrarPasso(System.nanoTime() - inicioPasso);
+                }
             }
         }
         System.out.println("Thread Zumbi ID " + getId() + " terminando.");
@@ -119,15 +136,16 @@ public class Zumbi extends Elemento {
     
     // Verifica vizinhos em busca de Azuis para requisitar conversão
     private void verificarVizinhosParaConversao(int currentX, int currentY) {
-        int[] dx = {-1, -1, -1, 0, 0, 1, 1, 1};
-        int[] dy = {-1, 0, 1, -1, 1, -1, 0, 1};
+        // Teste rápido no mapa de bits: sem Azul adjacente no tabuleiro local não há o que procurar aqui
+        if (tabuleiro.temVizinhoLocalDoTipo(currentX, currentY, 1)) {
+            int[] dx = {-1, -1, -1, 0, 0, 1, 1, 1};
+            int[] dy = {-1, 0, 1, -1, 1, -1, 0, 1};
 
-        for (int i = 0; i < 8; i++) {
-            int nx = currentX + dx[i];
-            int ny = currentY + dy[i];
+            for (int i = 0; i < 8; i++) {
+                int nx = currentX + dx[i];
+                int ny = currentY + dy[i];
 
-            if (tabuleiro.isDentroDosLimites(nx, ny)) {
-                if (tabuleiro.getPosicao(nx, ny) == 1) {
+                if (tabuleiro.isDentroDosLimites(nx, ny) && tabuleiro.getPosicao(nx, ny) == 1) {
                     Elemento azulAlvo = encontrarElementoEm(nx, ny, 1);
                     if (azulAlvo != null) {
                          System.out.println("Zumbi ID " + getId() + " detectou Azul em (" + nx + "," + ny + ") e requisitará conversão.");
@@ -139,6 +157,9 @@ public class Zumbi extends Elemento {
                 }
             }
         }
+
+        // Na borda de um shard, o shard vizinho procura e converte o Azul na coluna dele (um pedido)
+        tabuleiro.requisitarConversaoRemota(currentX, currentY);
     }
     
     // Método auxiliar para encontrar um elemento específico em uma posição